@@ -2,15 +2,17 @@ package com.wordmaster.gui;
 
 import com.bulenkov.darcula.DarculaLaf;
 import com.wordmaster.gui.i18n.Language;
+import com.wordmaster.gui.i18n.LanguagePack;
+import com.wordmaster.gui.i18n.LanguagePackAdapter;
+import com.wordmaster.model.JaxbContextRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import javax.swing.*;
 import javax.xml.bind.*;
 import javax.xml.bind.annotation.*;
+import javax.xml.bind.annotation.adapters.XmlJavaTypeAdapter;
 import java.io.File;
-import java.io.FileNotFoundException;
-import java.io.FileOutputStream;
 
 /**
  * Represents settings for the concrete view. Can be
@@ -27,7 +29,8 @@ public class Settings implements Cloneable {
     @XmlElement
     private SupportedLAF LAF = SupportedLAF.METAL;
     @XmlElement
-    private Language language = Language.ENGLISH;
+    @XmlJavaTypeAdapter(LanguagePackAdapter.class)
+    private LanguagePack language = Language.ENGLISH;
     @XmlElement
     private int soundVolume = 50;
     @XmlElement
@@ -119,17 +122,10 @@ public class Settings implements Cloneable {
     public static void saveSettings(String settingsFile, Settings settings, Runnable onError) {
         final Thread asyncSaving = new Thread(()->{
             try {
-                JAXBContext context =
-                        JAXBContext.newInstance( settings.getClass());
-                Marshaller m = context.createMarshaller();
-                m.setProperty( Marshaller.JAXB_FORMATTED_OUTPUT, Boolean.TRUE );
-                m.marshal( settings, new FileOutputStream(settingsFile));
+                JaxbContextRegistry.marshal(settings, new File(settingsFile), Settings.class);
             } catch (JAXBException e) {
                 logger.warn("Cannot save settings to file {}", settingsFile, e);
                 onError.run();
-            } catch (FileNotFoundException e) {
-                logger.warn("Cannot create new settings file {}", settingsFile, e);
-                onError.run();
             }
         });
         asyncSaving.start();
@@ -147,9 +143,7 @@ public class Settings implements Cloneable {
         Settings savedSettings = new Settings();
         if (expectedSettingsFile.exists()) {
             try {
-                JAXBContext context = JAXBContext.newInstance( Settings.class);
-                Unmarshaller um = context.createUnmarshaller();
-                savedSettings = (Settings)um.unmarshal(expectedSettingsFile);
+                savedSettings = (Settings)JaxbContextRegistry.unmarshal(expectedSettingsFile, Settings.class);
             } catch (JAXBException e) {
                 logger.warn("Cannot load existing settings file {}", settingsFile, e);
                 onError.run();
@@ -172,7 +166,7 @@ public class Settings implements Cloneable {
      *
      * @return current <code>Language</code>
      */
-    public Language getLanguage() {return language;}
+    public LanguagePack getLanguage() {return language;}
 
     /**
      * Sound volume getter
@@ -206,7 +200,7 @@ public class Settings implements Cloneable {
      *
      * @param lang language to set
      */
-    public void setLanguage(Language lang) {
+    public void setLanguage(LanguagePack lang) {
         this.language = lang;
     }
 
@@ -4,8 +4,11 @@ import com.wordmaster.gui.audio.AudioPlayer;
 import com.wordmaster.gui.custom.WordmasterUtils;
 import com.wordmaster.gui.page.*;
 import com.wordmaster.model.GameField;
+import com.wordmaster.model.GameModel;
+import com.wordmaster.model.StatisticsStore;
 import com.wordmaster.model.algorithm.Vocabulary;
 import com.wordmaster.model.algorithm.VocabularyException;
+import com.wordmaster.model.algorithm.VocabularyWatcher;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -13,6 +16,8 @@ import javax.swing.*;
 import java.awt.*;
 import java.awt.event.WindowAdapter;
 import java.awt.event.WindowEvent;
+import java.io.File;
+import java.io.IOException;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -33,6 +38,8 @@ public class View {
     private Page currentPage;
     private AudioPlayer player = new AudioPlayer();
     private boolean isInitialized = false;
+    private VocabularyWatcher vocabularyWatcher;
+    private StatisticsStore statisticsStore;
 
     /**
      * All view pages
@@ -144,6 +151,15 @@ public class View {
         return pages.get(page);
     }
 
+    /**
+     * Statistics store getter
+     *
+     * @return statistics store or null if it cannot be opened
+     */
+    public StatisticsStore getStatisticsStore() {
+        return statisticsStore;
+    }
+
     /**
      * Does all initialization staff
      * Creates the frame, initializes pages and trying to load existing settings.
@@ -154,6 +170,13 @@ public class View {
                     "e_settings_loading", settings.getLanguage());
         });
         applySettings(loadedSettings);
+        GameModel.warmUpPersistence();
+        vocabularyWatcher = VocabularyWatcher.start();
+        try {
+            statisticsStore = StatisticsStore.open(new File(StatisticsStore.DEFAULT_STATISTICS_DIRECTORY));
+        } catch (IOException e) {
+            logger.warn("Cannot open statistics store, games will not be recorded", e);
+        }
 
         frame = new JFrame();
         frame.setTitle("Wordmaster");
@@ -161,6 +184,12 @@ public class View {
             public void windowClosing(WindowEvent e){
                 currentPage.postHide();
                 player.stopBackgroundMusic();
+                if (vocabularyWatcher != null) {
+                    vocabularyWatcher.stop();
+                }
+                if (statisticsStore != null) {
+                    statisticsStore.close();
+                }
                 frame.setVisible(false);
                 frame.dispose();
             }
@@ -1,12 +1,15 @@
 package com.wordmaster.gui.custom;
 
-import com.wordmaster.gui.i18n.Language;
+import com.wordmaster.gui.i18n.LanguagePack;
 import com.wordmaster.model.Player;
+import com.wordmaster.model.PostGameAnalyzer;
 
 import javax.swing.JFrame;
 import javax.swing.JOptionPane;
+import java.util.Comparator;
 import java.util.List;
 import java.util.ResourceBundle;
+import java.util.stream.Collectors;
 
 /**
  * Helper class with auxiliary staff
@@ -15,6 +18,8 @@ import java.util.ResourceBundle;
  * @author Mike
  */
 public class WordmasterUtils {
+    private static final int MAX_MISSED_MOVES_SHOWN = 5;
+
     /**
      * Shows default error alert
      *
@@ -22,7 +27,7 @@ public class WordmasterUtils {
      * @param message alert message
      * @param language language of alert
      */
-    public static void showErrorAlert(JFrame frame, String message, Language language) {
+    public static void showErrorAlert(JFrame frame, String message, LanguagePack language) {
         ResourceBundle resourceBundle = language.getResourceBundle();
         JOptionPane.showMessageDialog(frame, resourceBundle.getString(message),
                 resourceBundle.getString("e_error"), JOptionPane.WARNING_MESSAGE);
@@ -33,10 +38,12 @@ public class WordmasterUtils {
      *
      * @param frame owner of the alert
      * @param winners list of players that win
+     * @param analysis analysis of the played moves, may be null
      * @param language language of alert
      */
-    public static void showGameEndsAlert(JFrame frame,
-                                         List<Player> winners, Language language) {
+    public static void showGameEndsAlert(JFrame frame, List<Player> winners,
+                                         List<PostGameAnalyzer.MoveAnalysis> analysis,
+                                         LanguagePack language) {
         ResourceBundle resourceBundle = language.getResourceBundle();
         StringBuilder gameEndsAlert = new StringBuilder();
         int i;
@@ -50,9 +57,43 @@ public class WordmasterUtils {
             gameEndsAlert.append(", ");
         }
         gameEndsAlert.append(winners.get(i).getName());
+        if (analysis != null) {
+            gameEndsAlert.append("\n\n");
+            appendMissedMoves(gameEndsAlert, analysis, resourceBundle);
+        }
         JOptionPane.showMessageDialog(frame, gameEndsAlert.toString());
     }
 
+    /**
+     * Appends the moves with the most missed score to the alert
+     *
+     * @param alert     alert text
+     * @param analysis  analysis of the played moves
+     * @param resourceBundle bundle of the alert language
+     */
+    private static void appendMissedMoves(StringBuilder alert, List<PostGameAnalyzer.MoveAnalysis> analysis,
+                                          ResourceBundle resourceBundle) {
+        List<PostGameAnalyzer.MoveAnalysis> missedMoves = analysis.stream()
+                .filter((PostGameAnalyzer.MoveAnalysis move) -> move.getMissedScore() > 0)
+                .sorted(Comparator.comparingInt(PostGameAnalyzer.MoveAnalysis::getMissedScore).reversed())
+                .limit(MAX_MISSED_MOVES_SHOWN)
+                .collect(Collectors.toList());
+        if (missedMoves.isEmpty()) {
+            alert.append(resourceBundle.getString("analysis_no_missed"));
+            return;
+        }
+        alert.append(resourceBundle.getString("analysis_missed"));
+        for (PostGameAnalyzer.MoveAnalysis move : missedMoves) {
+            alert.append("\n");
+            alert.append(resourceBundle.getString("current_move_number"));
+            alert.append(" ").append(move.getMoveNumber() + 1).append(", ");
+            alert.append(move.getPlayerName()).append(": ");
+            alert.append(move.getPlayedWord()).append(" ");
+            alert.append(resourceBundle.getString("analysis_instead_of")).append(" ");
+            alert.append(move.getBestWord()).append(" (+").append(move.getMissedScore()).append(")");
+        }
+    }
+
     /**
      * Shows alert to ask if player wish to save game replay
      *
@@ -60,7 +101,7 @@ public class WordmasterUtils {
      * @param language language of alert
      * @return true if player wish to save replay, false otherwise
      */
-    public static boolean askSaveReplay(JFrame frame, Language language) {
+    public static boolean askSaveReplay(JFrame frame, LanguagePack language) {
         ResourceBundle resourceBundle = language.getResourceBundle();
         int n = JOptionPane.showConfirmDialog(
                 frame,
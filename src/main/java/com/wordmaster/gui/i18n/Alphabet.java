@@ -0,0 +1,134 @@
+package com.wordmaster.gui.i18n;
+
+import java.util.Arrays;
+
+/**
+ * Dense mapping of the alphabet letters to small indexes. Index of the
+ * letter is its position in the alphabet, lookup is one array access.
+ * Some letters can be folded to others, e.g. 'ё' to 'е', then they
+ * share the index and are the same letter for the game.
+ *
+ * @author Mike
+ * @version 1.0
+ */
+public final class Alphabet {
+    /**
+     * Maximal number of letters, so set of letters fits into long
+     */
+    public static final int MAX_SIZE = 64;
+    public static final int NO_INDEX = -1;
+
+    private final String letters;
+    private final char minLetter;
+    private final byte[] indexes;
+
+    /**
+     * Creates alphabet without folded letters.
+     *
+     * @param letters all alphabet letters
+     */
+    public Alphabet(String letters) {
+        this(letters, "");
+    }
+
+    /**
+     * Creates alphabet.
+     *
+     * @param letters       all alphabet letters
+     * @param foldedLetters pairs of letters, the first letter of pair
+     *                      is folded to the second one, which is in alphabet
+     * @throws IllegalArgumentException if letters are repeated or there are too many of them
+     */
+    public Alphabet(String letters, String foldedLetters) {
+        if (letters.isEmpty() || letters.length() > MAX_SIZE || foldedLetters.length() % 2 != 0) {
+            throw new IllegalArgumentException("Illegal alphabet");
+        }
+        this.letters = letters;
+        char min = Character.MAX_VALUE;
+        char max = Character.MIN_VALUE;
+        String allLetters = letters + foldedLetters;
+        for (int i = 0; i < allLetters.length(); i++) {
+            min = (char) Math.min(min, allLetters.charAt(i));
+            max = (char) Math.max(max, allLetters.charAt(i));
+        }
+        minLetter = min;
+        indexes = new byte[max - min + 1];
+        Arrays.fill(indexes, (byte) NO_INDEX);
+        for (int i = 0; i < letters.length(); i++) {
+            if (indexOf(letters.charAt(i)) != NO_INDEX) {
+                throw new IllegalArgumentException("Repeated alphabet letter " + letters.charAt(i));
+            }
+            indexes[letters.charAt(i) - minLetter] = (byte) i;
+        }
+        for (int i = 0; i < foldedLetters.length(); i += 2) {
+            int targetIndex = indexOf(foldedLetters.charAt(i + 1));
+            if (targetIndex == NO_INDEX || indexOf(foldedLetters.charAt(i)) != NO_INDEX) {
+                throw new IllegalArgumentException("Illegal folded letter " + foldedLetters.charAt(i));
+            }
+            indexes[foldedLetters.charAt(i) - minLetter] = (byte) targetIndex;
+        }
+    }
+
+    /**
+     * Returns the index of the letter.
+     *
+     * @param c letter
+     * @return letter index or <code>NO_INDEX</code> if it is not a letter
+     */
+    public int indexOf(char c) {
+        int position = c - minLetter;
+        if (position < 0 || position >= indexes.length) return NO_INDEX;
+        return indexes[position];
+    }
+
+    /**
+     * Returns the letter by its index.
+     *
+     * @param index letter index
+     * @return letter
+     */
+    public char getLetter(int index) {
+        return letters.charAt(index);
+    }
+
+    /**
+     * Getter for the number of letters
+     *
+     * @return number of letters, folded ones are not counted
+     */
+    public int size() {
+        return letters.length();
+    }
+
+    /**
+     * Getter for the letters
+     *
+     * @return all the alphabet letters in index order
+     */
+    public String getLetters() {
+        return letters;
+    }
+
+    /**
+     * Checks if char is alphabet letter
+     *
+     * @param c char to check
+     * @return true if char is letter or folded letter
+     */
+    public boolean contains(char c) {
+        return indexOf(c) != NO_INDEX;
+    }
+
+    /**
+     * Checks if all the chars are alphabet letters
+     *
+     * @param word chars to check
+     * @return true if all the chars are letters
+     */
+    public boolean containsAll(CharSequence word) {
+        for (int i = 0; i < word.length(); i++) {
+            if (indexOf(word.charAt(i)) == NO_INDEX) return false;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,146 @@
+package com.wordmaster.gui.i18n;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.Properties;
+import java.util.PropertyResourceBundle;
+import java.util.ResourceBundle;
+
+/**
+ * Language pack loaded from the directory. Resource bundle of the
+ * pack is optional, missing messages are taken from the english one.
+ *
+ * @author Mike
+ * @version 1.0
+ */
+class ExternalLanguagePack implements LanguagePack {
+    private static final Logger logger = LoggerFactory.getLogger(ExternalLanguagePack.class);
+    static final String DEFAULT_VOCABULARY_FILE = "vocabulary.txt";
+    static final String DEFAULT_OPENING_BOOK_FILE = "opening.txt";
+    static final String DEFAULT_DICTIONARY_FILE = "dictionary.properties";
+
+    private final String id;
+    private final String name;
+    private final String alphabet;
+    private final Alphabet letterIndex;
+    private final File vocabularyFile;
+    private final File openingBookFile;
+    private final File dictionaryFile;
+    private volatile ResourceBundle resourceBundle;
+
+    /**
+     * Creates pack from the pack descriptor properties.
+     *
+     * @param directory  pack directory
+     * @param properties pack descriptor
+     * @throws IllegalArgumentException if pack id or alphabet are missing or illegal
+     */
+    ExternalLanguagePack(File directory, Properties properties) {
+        id = properties.getProperty("id", "").trim();
+        alphabet = properties.getProperty("alphabet", "").trim();
+        if (id.isEmpty() || alphabet.isEmpty()) {
+            throw new IllegalArgumentException("Language pack must have id and alphabet");
+        }
+        letterIndex = new Alphabet(alphabet, properties.getProperty("fold", "").trim());
+        name = properties.getProperty("name", id).trim();
+        vocabularyFile = new File(directory, properties.getProperty("vocabulary", DEFAULT_VOCABULARY_FILE));
+        openingBookFile = new File(directory, properties.getProperty("opening", DEFAULT_OPENING_BOOK_FILE));
+        dictionaryFile = new File(directory, properties.getProperty("dictionary", DEFAULT_DICTIONARY_FILE));
+    }
+
+    @Override
+    public String getId() {
+        return id;
+    }
+
+    @Override
+    public ResourceBundle getResourceBundle() {
+        if (resourceBundle == null) {
+            ResourceBundle englishBundle = Language.ENGLISH.getResourceBundle();
+            ResourceBundle bundle = englishBundle;
+            if (dictionaryFile.isFile()) {
+                try (Reader reader = new InputStreamReader(new FileInputStream(dictionaryFile),
+                        StandardCharsets.UTF_8)) {
+                    bundle = new PackResourceBundle(reader, englishBundle);
+                } catch (IOException e) {
+                    logger.warn("Cannot load resource bundle of language pack {}", id, e);
+                }
+            }
+            resourceBundle = bundle;
+        }
+        return resourceBundle;
+    }
+
+    @Override
+    public String getAlphabet() {
+        return alphabet;
+    }
+
+    @Override
+    public Alphabet getLetterIndex() {
+        return letterIndex;
+    }
+
+    @Override
+    public InputStream getVocabularyInputStream() {
+        InputStream externalStream = LanguagePacks.openExternalVocabulary(this);
+        if (externalStream != null) {
+            return externalStream;
+        }
+        return openFile(vocabularyFile);
+    }
+
+    @Override
+    public File getPackVocabularyFile() {
+        return vocabularyFile;
+    }
+
+    @Override
+    public String getVocabularyFileName() {
+        return Language.VOCABULARY_FILE_PREFIX + id.toLowerCase() + ".txt";
+    }
+
+    @Override
+    public String getOpeningBookPath() {
+        return openingBookFile.getPath();
+    }
+
+    @Override
+    public InputStream getOpeningBookInputStream() {
+        return openFile(openingBookFile);
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+
+    private static InputStream openFile(File file) {
+        if (!file.isFile()) return null;
+        try {
+            return new FileInputStream(file);
+        } catch (FileNotFoundException e) {
+            logger.warn("Cannot open language pack file {}", file.getPath(), e);
+            return null;
+        }
+    }
+
+    /**
+     * Properties resource bundle with the fallback bundle.
+     */
+    private static class PackResourceBundle extends PropertyResourceBundle {
+        PackResourceBundle(Reader reader, ResourceBundle parent) throws IOException {
+            super(reader);
+            setParent(parent);
+        }
+    }
+}
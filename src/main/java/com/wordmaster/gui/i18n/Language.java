@@ -10,12 +10,12 @@ import java.util.MissingResourceException;
 import java.util.ResourceBundle;
 
 /**
- * Represent one supported game language. Language is a little bit
+ * Represent one bundled game language. Language is a little bit
  * complex enumeration and allows to validate word or letter,
  * get associated resource bundle and vocabulary inputStream
  */
 @XmlEnum
-public enum Language {
+public enum Language implements LanguagePack {
     /**
      * Russian language
      */
@@ -23,7 +23,7 @@ public enum Language {
         protected Locale getLocale() {
             return new Locale("ru");
         }
-        protected String getAlphabet() {
+        public String getAlphabet() {
             return "абвгдеёжзийклмнопрстуфхцчшщъыьэюя";
         }
     },
@@ -34,7 +34,7 @@ public enum Language {
         protected Locale getLocale() {
             return new Locale("en");
         }
-        protected String getAlphabet() {
+        public String getAlphabet() {
             return "abcdefghijklmnopqrstuvwxyz";
         }
     };
@@ -42,7 +42,12 @@ public enum Language {
     private static final Logger logger = LoggerFactory.getLogger(Language.class);
     protected final static String RESOURCE_BUNDLE_BASE_NAME = "i18n.dictionary";
     protected final static String VOCABULARY_PATH_PREFIX = "i18n/vocabulary_";
+    public final static String EXTERNAL_VOCABULARY_DIRECTORY = "vocabulary";
+    protected final static String VOCABULARY_FILE_PREFIX = "vocabulary_";
+    protected final static String OPENING_BOOK_PATH_PREFIX = "i18n/opening_";
+    protected final static String USER_DICTIONARY_PREFIX = "user_dictionary_";
     protected ResourceBundle resourceBundle;
+    private Alphabet letterIndex;
 
     /**
      * Retrieves the resource bundle associated with language
@@ -62,38 +67,72 @@ public enum Language {
     }
 
     /**
-     * Retrieves the vocabulary stream associated with language
+     * Getter for the letter indexes of the alphabet. Letters 'ё' and 'е'
+     * are not folded, as the vocabulary distinguishes them.
+     *
+     * @return alphabet letter indexes
+     */
+    public Alphabet getLetterIndex() {
+        if (letterIndex == null) {
+            letterIndex = new Alphabet(getAlphabet());
+        }
+        return letterIndex;
+    }
+
+    /**
+     * Retrieves the vocabulary stream associated with language.
+     * External vocabulary file overrides the bundled one.
      *
      * @return vocabulary stream of the language
      */
     public InputStream getVocabularyInputStream() {
+        InputStream externalStream = LanguagePacks.openExternalVocabulary(this);
+        if (externalStream != null) {
+            return externalStream;
+        }
         return this.getClass().getClassLoader()
                 .getResourceAsStream(VOCABULARY_PATH_PREFIX+getLocale().getLanguage()+".txt");
     }
 
     /**
-     * Checks if letter is in language alphabet
+     * Retrieves the vocabulary file name associated with language
      *
-     * @param c letter to check
-     * @return true if letter belongs to alphabet, false otherwise
+     * @return vocabulary file name of the language
      */
-    public boolean validateLetter(char c) {
-        return getAlphabet().indexOf(c) != -1;
+    public String getVocabularyFileName() {
+        return VOCABULARY_FILE_PREFIX+getLocale().getLanguage()+".txt";
     }
 
     /**
-     * Checks if word consists of valid alphabet letters
+     * Retrieves the opening book resource path associated with language
      *
-     * @param s string to check
-     * @return true if string contains valid alphabet letters, false otherwise
+     * @return opening book resource path of the language
      */
-    public boolean validateWordLetters(String s) {
-        for (char c : s.toCharArray()) {
-            if (getAlphabet().indexOf(c) == -1) {
-                return false;
-            }
-        }
-        return true;
+    public String getOpeningBookPath() {
+        return OPENING_BOOK_PATH_PREFIX+getLocale().getLanguage()+".txt";
+    }
+
+    /**
+     * Retrieves the opening book stream associated with language
+     *
+     * @return opening book stream of the language or null if there is no book
+     */
+    public InputStream getOpeningBookInputStream() {
+        return this.getClass().getClassLoader().getResourceAsStream(getOpeningBookPath());
+    }
+
+    /**
+     * Retrieves the user dictionary file name associated with language
+     *
+     * @return user dictionary file name of the language
+     */
+    public String getUserDictionaryFileName() {
+        return USER_DICTIONARY_PREFIX+getLocale().getLanguage()+".txt";
+    }
+
+    @Override
+    public String getId() {
+        return name();
     }
 
     @Override
@@ -113,5 +152,5 @@ public enum Language {
      *
      * @return string of all alphabet letters
      */
-    protected abstract String getAlphabet();
+    public abstract String getAlphabet();
 }
\ No newline at end of file
@@ -0,0 +1,123 @@
+package com.wordmaster.gui.i18n;
+
+import java.io.File;
+import java.io.InputStream;
+import java.util.ResourceBundle;
+
+/**
+ * Game language: alphabet, interface resource bundle and word
+ * vocabulary. Bundled languages are <code>Language</code> constants,
+ * other ones are discovered by <code>LanguagePacks</code>.
+ *
+ * @author Mike
+ * @version 1.0
+ */
+public interface LanguagePack {
+    /**
+     * Unique language identifier, it is stored in the settings
+     *
+     * @return language identifier
+     */
+    String getId();
+
+    /**
+     * Retrieves the resource bundle associated with language
+     *
+     * @return resource bundle of the language
+     */
+    ResourceBundle getResourceBundle();
+
+    /**
+     * Getter for the alphabet
+     *
+     * @return string of all alphabet letters
+     */
+    String getAlphabet();
+
+    /**
+     * Getter for the letter indexes of the alphabet, used for letter
+     * validation and by the vocabulary trees
+     *
+     * @return alphabet letter indexes
+     */
+    Alphabet getLetterIndex();
+
+    /**
+     * Retrieves the vocabulary stream associated with language.
+     * External vocabulary file overrides the language one.
+     *
+     * @return vocabulary stream of the language or null if there is no vocabulary
+     */
+    InputStream getVocabularyInputStream();
+
+    /**
+     * Retrieves the vocabulary file name associated with language
+     *
+     * @return vocabulary file name of the language
+     */
+    String getVocabularyFileName();
+
+    /**
+     * Retrieves the opening book path associated with language,
+     * resource path for the bundled languages and file path for others
+     *
+     * @return opening book path of the language
+     */
+    String getOpeningBookPath();
+
+    /**
+     * Retrieves the opening book stream associated with language
+     *
+     * @return opening book stream of the language or null if there is no book
+     */
+    InputStream getOpeningBookInputStream();
+
+    /**
+     * Retrieves the external vocabulary file associated with language.
+     * File may not exist.
+     *
+     * @return external vocabulary file of the language
+     */
+    default File getExternalVocabularyFile() {
+        return new File(Language.EXTERNAL_VOCABULARY_DIRECTORY, getVocabularyFileName());
+    }
+
+    /**
+     * Retrieves the vocabulary file of the language pack, it is used
+     * if there is no external vocabulary file
+     *
+     * @return pack vocabulary file or null if vocabulary is a resource
+     */
+    default File getPackVocabularyFile() {
+        return null;
+    }
+
+    /**
+     * Retrieves the user dictionary file name associated with language
+     *
+     * @return user dictionary file name of the language
+     */
+    default String getUserDictionaryFileName() {
+        return Language.USER_DICTIONARY_PREFIX + getId().toLowerCase() + ".txt";
+    }
+
+    /**
+     * Checks if letter is in language alphabet
+     *
+     * @param c letter to check
+     * @return true if letter belongs to alphabet, false otherwise
+     */
+    default boolean validateLetter(char c) {
+        return getLetterIndex().contains(c);
+    }
+
+    /**
+     * Checks if word consists of valid alphabet letters
+     *
+     * @param s string to check
+     * @return true if string contains valid alphabet letters, false otherwise
+     */
+    default boolean validateWordLetters(String s) {
+        return getLetterIndex().containsAll(s);
+    }
+}
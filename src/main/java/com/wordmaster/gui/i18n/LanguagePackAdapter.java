@@ -0,0 +1,32 @@
+package com.wordmaster.gui.i18n;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.xml.bind.annotation.adapters.XmlAdapter;
+
+/**
+ * Stores language as its id. Unknown language, for example
+ * of the removed pack, is replaced by the english one.
+ *
+ * @author Mike
+ * @version 1.0
+ */
+public class LanguagePackAdapter extends XmlAdapter<String, LanguagePack> {
+    private static final Logger logger = LoggerFactory.getLogger(LanguagePackAdapter.class);
+
+    @Override
+    public LanguagePack unmarshal(String id) {
+        LanguagePack pack = LanguagePacks.getLanguagePack(id);
+        if (pack == null) {
+            logger.warn("Unknown language {}, english is used", id);
+            return Language.ENGLISH;
+        }
+        return pack;
+    }
+
+    @Override
+    public String marshal(LanguagePack pack) {
+        return pack.getId();
+    }
+}
@@ -0,0 +1,149 @@
+package com.wordmaster.gui.i18n;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.ServiceLoader;
+
+/**
+ * Registry of the available game languages. Bundled languages go
+ * first, then language packs provided as services on the classpath,
+ * then language packs from the subdirectories of the language packs
+ * directory. Each pack directory contains <code>pack.properties</code>
+ * with the pack id, name, alphabet and optional folded letter pairs,
+ * vocabulary, opening book and dictionary file names. Packs are discovered once, on the
+ * first access.
+ *
+ * @author Mike
+ * @version 1.0
+ */
+public final class LanguagePacks {
+    private static final Logger logger = LoggerFactory.getLogger(LanguagePacks.class);
+    public static final String LANGUAGE_PACKS_DIRECTORY = "languages";
+    static final String PACK_DESCRIPTOR = "pack.properties";
+    private static volatile List<LanguagePack> languagePacks;
+
+    private LanguagePacks() {
+
+    }
+
+    /**
+     * Returns all the available languages.
+     *
+     * @return unmodifiable list of languages
+     */
+    public static List<LanguagePack> getLanguagePacks() {
+        List<LanguagePack> packs = languagePacks;
+        if (packs == null) {
+            synchronized (LanguagePacks.class) {
+                packs = languagePacks;
+                if (packs == null) {
+                    packs = discover(new File(LANGUAGE_PACKS_DIRECTORY));
+                    languagePacks = packs;
+                }
+            }
+        }
+        return packs;
+    }
+
+    /**
+     * Returns language by its id.
+     *
+     * @param id language id
+     * @return language or null if there is no such language
+     */
+    public static LanguagePack getLanguagePack(String id) {
+        for (LanguagePack pack : getLanguagePacks()) {
+            if (pack.getId().equals(id)) {
+                return pack;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Finds all the languages. Pack with already used id is skipped.
+     *
+     * @param directory language packs directory
+     * @return unmodifiable list of languages
+     */
+    static List<LanguagePack> discover(File directory) {
+        Map<String, LanguagePack> packs = new LinkedHashMap<>();
+        for (Language language : Language.values()) {
+            packs.put(language.getId(), language);
+        }
+        for (LanguagePack pack : ServiceLoader.load(LanguagePack.class)) {
+            register(packs, pack);
+        }
+        File[] packDirectories = directory.listFiles(File::isDirectory);
+        if (packDirectories != null) {
+            Arrays.sort(packDirectories);
+            for (File packDirectory : packDirectories) {
+                File descriptor = new File(packDirectory, PACK_DESCRIPTOR);
+                if (!descriptor.isFile()) continue;
+                try {
+                    register(packs, new ExternalLanguagePack(packDirectory, readProperties(descriptor)));
+                } catch (IOException | IllegalArgumentException e) {
+                    logger.warn("Cannot load language pack {}", packDirectory.getPath(), e);
+                }
+            }
+        }
+        return Collections.unmodifiableList(new ArrayList<>(packs.values()));
+    }
+
+    /**
+     * Opens external vocabulary file of the language if there is one.
+     *
+     * @param pack vocabulary language
+     * @return external vocabulary stream or null if there is no external vocabulary
+     */
+    static InputStream openExternalVocabulary(LanguagePack pack) {
+        File externalFile = pack.getExternalVocabularyFile();
+        if (!externalFile.isFile()) return null;
+        try {
+            return new FileInputStream(externalFile);
+        } catch (FileNotFoundException e) {
+            logger.warn("Cannot open external vocabulary {}", externalFile.getPath(), e);
+            return null;
+        }
+    }
+
+    /**
+     * Reads properties file in UTF-8.
+     *
+     * @param file file to read
+     * @return read properties
+     * @throws IOException if any reading error occurs
+     */
+    static Properties readProperties(File file) throws IOException {
+        Properties properties = new Properties();
+        try (Reader reader = new InputStreamReader(new FileInputStream(file), StandardCharsets.UTF_8)) {
+            properties.load(reader);
+        }
+        return properties;
+    }
+
+    private static void register(Map<String, LanguagePack> packs, LanguagePack pack) {
+        if (packs.containsKey(pack.getId())) {
+            logger.warn("Language pack {} is already registered, duplicate is skipped", pack.getId());
+            return;
+        }
+        packs.put(pack.getId(), pack);
+        logger.debug("Language pack {} registered", pack.getId());
+    }
+}
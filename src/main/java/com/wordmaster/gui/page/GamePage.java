@@ -12,10 +12,13 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import javax.swing.*;
+import javax.swing.event.ChangeEvent;
+import javax.swing.event.ChangeListener;
 import java.awt.*;
 import java.awt.event.*;
 import java.io.File;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.ResourceBundle;
 
@@ -29,6 +32,9 @@ import static com.wordmaster.model.GameField.EMPTY_CELL_VALUE;
  */
 public class GamePage extends Page implements ModelAware {
     private final static Logger logger = LoggerFactory.getLogger(GamePage.class);
+    private final static String CELL_INDEX_PROPERTY = "cellIndex";
+    private final static int HINTS_LIMIT = 5;
+    private final static long HINT_BUDGET = 2000;
     private GameModel model;
     private Player currentPlayer;
 
@@ -39,12 +45,25 @@ public class GamePage extends Page implements ModelAware {
     private JLabel[][] gameFieldLabels;
     private Color DEFAULT_CELL_COLOR = Color.WHITE;
     private Color SELECTED_CELL_COLOR = Color.LIGHT_GRAY;
+    private Color HINT_CELL_COLOR = new Color(190, 230, 190);
     private GameField.Cell setCell;
     private GameField.Cell selectedCell;
     private GameField.Word currentWord = new GameField.Word();
 
     private KeyEventDispatcher keyListener;
 
+    private JSlider replayTimeline;
+    private boolean isTimelineSyncing = false;
+    private int pendingSeek = -1;
+    private int syncedOperations = 0;
+
+    private HintEngine hintEngine;
+    private int hintRequest = 0;
+    private Move shownHint;
+    private GameField.Cell hintCell;
+
+    private StatisticsRecorder statisticsRecorder;
+
     private enum Labels {
         TIME, CURRENT_PLAYER_LABEL, CURRENT_PLAYER_NAME,
         MOVE_NUMBER_LABEL, MOVE_NUMBER,
@@ -52,7 +71,7 @@ public class GamePage extends Page implements ModelAware {
         SP_HEADER, SP_TIME, SP_SCORE_LABEL, SP_SCORE
     }
     private enum Buttons {
-        BACK, UNDO, REDO, APPLY, SAVE, SURRENDER
+        BACK, UNDO, REDO, APPLY, HINT, SAVE, SURRENDER
     }
     private enum WordLists {
         FP_LIST, SP_LIST
@@ -80,11 +99,16 @@ public class GamePage extends Page implements ModelAware {
         if (parentView.getSettings().getLAF() != Settings.SupportedLAF.DARKULA) {
             DEFAULT_CELL_COLOR = Color.WHITE;
             SELECTED_CELL_COLOR = Color.LIGHT_GRAY;
+            HINT_CELL_COLOR = new Color(190, 230, 190);
         } else {
             DEFAULT_CELL_COLOR = Color.DARK_GRAY;
             SELECTED_CELL_COLOR = Color.GRAY;
+            HINT_CELL_COLOR = new Color(60, 100, 60);
         }
 
+        replayTimeline.setVisible(model.isReplay());
+        pendingSeek = -1;
+
         if (!model.isReplay()) model.startGame();
         syncWithModel();
         updateField();
@@ -94,6 +118,7 @@ public class GamePage extends Page implements ModelAware {
         super.postHide();
         KeyboardFocusManager.getCurrentKeyboardFocusManager().removeKeyEventDispatcher(keyListener);
 
+        clearHint();
         model.removeModelListener(this);
         model.destroy();
     }
@@ -159,6 +184,10 @@ public class GamePage extends Page implements ModelAware {
         applyBtn.addActionListener(getApplyBtnListener());
         pageButtons.put(Buttons.APPLY, applyBtn);
 
+        JButton hintBtn = ButtonFactory.getStandardButton(parentView);
+        hintBtn.addActionListener(getHintBtnListener());
+        pageButtons.put(Buttons.HINT, hintBtn);
+
         JButton redoBtn = ButtonFactory.getStandardButton(parentView);
         redoBtn.addActionListener(getRedoBtnListener());
         pageButtons.put(Buttons.REDO, redoBtn);
@@ -171,6 +200,11 @@ public class GamePage extends Page implements ModelAware {
         saveBtn.addActionListener(getSaveBtnListener());
         pageButtons.put(Buttons.SAVE, saveBtn);
 
+        replayTimeline = new JSlider(0, 0, 0);
+        replayTimeline.setPreferredSize(new Dimension(150, 25));
+        replayTimeline.setMaximumSize(new Dimension(150, 25));
+        replayTimeline.addChangeListener(getReplayTimelineListener());
+
 
         JPanel firstPlayerPanel = new JPanel(new GridBagLayout());
         firstPlayerPanel.setBorder(BorderFactory.createCompoundBorder(
@@ -281,8 +315,12 @@ public class GamePage extends Page implements ModelAware {
         bottomButtonsPanel.add(Box.createHorizontalGlue());
         bottomButtonsPanel.add(redoBtn);
         bottomButtonsPanel.add(Box.createHorizontalGlue());
+        bottomButtonsPanel.add(replayTimeline);
+        bottomButtonsPanel.add(Box.createHorizontalGlue());
         bottomButtonsPanel.add(applyBtn);
         bottomButtonsPanel.add(Box.createHorizontalGlue());
+        bottomButtonsPanel.add(hintBtn);
+        bottomButtonsPanel.add(Box.createHorizontalGlue());
         bottomButtonsPanel.add(surrenderBtn);
         bottomButtonsPanel.add(Box.createHorizontalGlue());
         bottomButtonsPanel.add(saveBtn);
@@ -337,9 +375,18 @@ public class GamePage extends Page implements ModelAware {
     void setModel(GameModel model) {
         if (this.model != null) {
             this.model.removeModelListener(this);
+            if (statisticsRecorder != null) {
+                this.model.removeModelListener(statisticsRecorder);
+                statisticsRecorder = null;
+            }
         }
         this.model = model;
         this.model.addModelListener(this);
+        StatisticsStore statisticsStore = parentView.getStatisticsStore();
+        if (statisticsStore != null && !model.isReplay()) {
+            statisticsRecorder = new StatisticsRecorder(statisticsStore);
+            this.model.addModelListener(statisticsRecorder);
+        }
     }
 
     /**
@@ -362,6 +409,7 @@ public class GamePage extends Page implements ModelAware {
                 }
                 fieldLabel.setOpaque(true);
                 fieldLabel.addMouseListener(getFieldCellMouseListener());
+                fieldLabel.putClientProperty(CELL_INDEX_PROPERTY, y * GameField.FIELD_WIDTH + x);
                 // setup mouse listener with logic
                 gameFieldLabels[y][x] = fieldLabel;
             }
@@ -373,6 +421,7 @@ public class GamePage extends Page implements ModelAware {
      * Helper method to sync game field with model
      */
     private void updateField() {
+        clearHint();
         for (int y = 0; y < GameField.FIELD_HEIGHT; y++) {
             for (int x = 0; x < GameField.FIELD_WIDTH; x++) {
                 GameField.Cell cell = model.getGameField().getCell(x, y);
@@ -393,6 +442,7 @@ public class GamePage extends Page implements ModelAware {
         pageButtons.get(Buttons.UNDO).setText(resourceBundle.getString("undo"));
         pageButtons.get(Buttons.REDO).setText(resourceBundle.getString("redo"));
         pageButtons.get(Buttons.APPLY).setText(resourceBundle.getString("apply"));
+        pageButtons.get(Buttons.HINT).setText(resourceBundle.getString("hint"));
         pageButtons.get(Buttons.SURRENDER).setText(resourceBundle.getString("surrender"));
         pageButtons.get(Buttons.SAVE).setText(resourceBundle.getString("save"));
     }
@@ -423,6 +473,7 @@ public class GamePage extends Page implements ModelAware {
         return new MouseAdapter() {
             @Override
             public void mousePressed(MouseEvent e) {
+                clearHint();
                 JLabel source  = (JLabel) e.getSource();
                 GameField.Cell newSelectedCell = getCellByFieldLabel(e.getSource());
                 if (newSelectedCell == null || currentWord.contains(newSelectedCell)
@@ -465,12 +516,11 @@ public class GamePage extends Page implements ModelAware {
      * @return model cell reference
      */
     private GameField.Cell getCellByFieldLabel(Object label) {
-        for (int y = 0; y < GameField.FIELD_HEIGHT; y++) {
-            for (int x = 0; x < GameField.FIELD_WIDTH; x++) {
-                if (gameFieldLabels[y][x].equals(label)) return model.getGameField().getCell(x, y);
-            }
-        }
-        return null;
+        if (!(label instanceof JLabel)) return null;
+        Object cellIndex = ((JLabel) label).getClientProperty(CELL_INDEX_PROPERTY);
+        if (!(cellIndex instanceof Integer)) return null;
+        int index = (Integer) cellIndex;
+        return model.getGameField().getCell(index % GameField.FIELD_WIDTH, index / GameField.FIELD_WIDTH);
     }
 
     /**
@@ -504,6 +554,7 @@ public class GamePage extends Page implements ModelAware {
 
             @Override
             public boolean dispatchKeyEvent(KeyEvent e) {
+                if (shownHint != null) clearHint();
                 if(System.currentTimeMillis() - lastPressProcessed > 300) {
                     if (selectedCell == null) return false;
                     if (selectedCell.isStandalone()) return false;
@@ -550,6 +601,7 @@ public class GamePage extends Page implements ModelAware {
             }
             if (selectedCell != null && !currentWord.isEmpty()) {
                 pageButtons.get(Buttons.APPLY).setEnabled(false);
+                pageButtons.get(Buttons.HINT).setEnabled(false);
                 pageButtons.get(Buttons.UNDO).setEnabled(false);
                 pageButtons.get(Buttons.REDO).setEnabled(false);
                 char currentLetter = getFieldLabelByCell(setCell).getText().charAt(0);
@@ -561,6 +613,92 @@ public class GamePage extends Page implements ModelAware {
         };
     }
 
+    /**
+     * Helper method to get click listener for the hint btn
+     * Resets user input and starts hint calculation, the best found
+     * move is highlighted as soon as it is found.
+     * @return the hint btn action listener
+     */
+    private ActionListener getHintBtnListener() {
+        return (ActionEvent e) -> {
+            clearHint();
+            resetUserInput();
+            int request = hintRequest;
+            try {
+                hintEngine = model.requestHints(HINTS_LIMIT, HINT_BUDGET,
+                        (List<Move> hints, boolean isComplete) -> SwingUtilities.invokeLater(() -> {
+                            if (request == hintRequest) {
+                                showHint(hints, isComplete);
+                            }
+                        }));
+            } catch (ModelStateException ex) {
+                logger.debug("Cannot request hints", ex);
+            }
+        };
+    }
+
+    /**
+     * Highlights the best hint move: its word cells and the letter
+     * in the target cell.
+     *
+     * @param hints         best moves found so far, the best one first
+     * @param isComplete    true if no more hints will come
+     */
+    private void showHint(List<Move> hints, boolean isComplete) {
+        if (hints.isEmpty()) {
+            if (isComplete) {
+                WordmasterUtils.showErrorAlert(parentView.getFrame(), "e_no_hint",
+                        parentView.getSettings().getLanguage());
+            }
+            return;
+        }
+        hideHint();
+        shownHint = hints.get(0);
+        GameField gameField = model.getGameField();
+        GameField.Word hintWord = shownHint.getResultWord(gameField);
+        GameField.Cell cell = hintWord.popLetter();
+        while (cell != null) {
+            getFieldLabelByCell(cell).setBackground(HINT_CELL_COLOR);
+            cell = hintWord.popLetter();
+        }
+        GameField.Cell targetCell = shownHint.getCell(gameField);
+        JLabel targetLabel = getFieldLabelByCell(targetCell);
+        if (targetLabel.getText().charAt(0) == EMPTY_CELL_VALUE) {
+            targetLabel.setText(String.valueOf(shownHint.getNewCellValue()));
+            hintCell = targetCell;
+        }
+    }
+
+    /**
+     * Helper method to cancel hint calculation and remove shown hint
+     */
+    private void clearHint() {
+        hintRequest++;
+        if (hintEngine != null) {
+            hintEngine.cancel();
+            hintEngine = null;
+        }
+        hideHint();
+    }
+
+    /**
+     * Helper method to remove the shown hint highlighting
+     */
+    private void hideHint() {
+        if (shownHint == null) return;
+        GameField.Word hintWord = shownHint.getResultWord(model.getGameField());
+        GameField.Cell cell = hintWord.popLetter();
+        while (cell != null) {
+            getFieldLabelByCell(cell).setBackground(DEFAULT_CELL_COLOR);
+            cell = hintWord.popLetter();
+        }
+        if (hintCell != null) {
+            getFieldLabelByCell(hintCell).setText(String.valueOf(EMPTY_CELL_VALUE));
+            hintCell = null;
+        }
+        shownHint = null;
+    }
+
     /**
      * Sends undo request to the model
      * @return listener to perform undo operation
@@ -591,6 +729,26 @@ public class GamePage extends Page implements ModelAware {
         };
     }
 
+    /**
+     * Sends seek request to the model when replay timeline is moved.
+     * If another operation is in progress, seek is postponed until
+     * the next model sync
+     * @return listener to perform seek operation
+     */
+    private ChangeListener getReplayTimelineListener() {
+        return (ChangeEvent e) -> {
+            if (isTimelineSyncing) return;
+            int moveNumber = replayTimeline.getValue();
+            if (moveNumber == model.getCurrentMove()) return;
+            try {
+                model.seek(moveNumber);
+                pendingSeek = -1;
+            } catch (ModelStateException ex) {
+                pendingSeek = moveNumber;
+            }
+        };
+    }
+
     /**
      * Sends save request to the model
      * @return listener to perform save operation
@@ -612,8 +770,9 @@ public class GamePage extends Page implements ModelAware {
     }
 
     /**
-     * Shows file chooser dialog and asks model to save be saved to file
-     * Stops the model execution during saving operation
+     * Shows file chooser dialog and asks model to be saved to file.
+     * Stops the model execution while the dialog is shown, the saving
+     * itself goes in background
      */
     private void saveModel() {
         model.pause();
@@ -621,19 +780,19 @@ public class GamePage extends Page implements ModelAware {
         fc.setCurrentDirectory(new File("./"));
         fc.showSaveDialog(parentView.getFrame());
         File file = fc.getSelectedFile();
+        model.resume();
         if (file == null) {
-            System.out.println("File == null");
-            model.resume();
+            logger.debug("No file selected to save the game");
             return;
         }
-        try {
-            model.save(file);
-            model.resume();
-        }
-        catch (ModelException exception) {
-            WordmasterUtils.showErrorAlert(parentView.getFrame(), "e_model_saving",
-                    parentView.getSettings().getLanguage());
-        }
+        model.save(file, (File savedFile, ModelException error) -> {
+            if (error != null) {
+                SwingUtilities.invokeLater(() -> {
+                    WordmasterUtils.showErrorAlert(parentView.getFrame(), "e_model_saving",
+                            parentView.getSettings().getLanguage());
+                });
+            }
+        });
     }
 
     /**
@@ -644,6 +803,7 @@ public class GamePage extends Page implements ModelAware {
      */
     private void syncWithModel() {
         model.pause();
+        syncedOperations = model.getOperationsCount();
 
         // update current player
         currentPlayer = model.getCurrentPlayer();
@@ -671,6 +831,7 @@ public class GamePage extends Page implements ModelAware {
 
         // update btns state
         updateButtonsState();
+        updateReplayTimeline();
 
         model.resume();
     }
@@ -682,6 +843,7 @@ public class GamePage extends Page implements ModelAware {
     private void updateButtonsState() {
         if (model.isReplay()) {
             pageButtons.get(Buttons.APPLY).setEnabled(false);
+            pageButtons.get(Buttons.HINT).setEnabled(false);
             pageButtons.get(Buttons.SAVE).setEnabled(false);
             pageButtons.get(Buttons.SURRENDER).setEnabled(false);
             pageButtons.get(Buttons.UNDO).setEnabled(model.canUndo());
@@ -691,41 +853,144 @@ public class GamePage extends Page implements ModelAware {
                 pageButtons.get(Buttons.UNDO).setEnabled(model.canUndo());
                 pageButtons.get(Buttons.REDO).setEnabled(model.canRedo());
                 pageButtons.get(Buttons.APPLY).setEnabled(true);
+                pageButtons.get(Buttons.HINT).setEnabled(true);
                 pageButtons.get(Buttons.SURRENDER).setEnabled(true);
             } else {
                 pageButtons.get(Buttons.UNDO).setEnabled(false);
                 pageButtons.get(Buttons.REDO).setEnabled(false);
                 pageButtons.get(Buttons.APPLY).setEnabled(false);
+                pageButtons.get(Buttons.HINT).setEnabled(false);
                 pageButtons.get(Buttons.SURRENDER).setEnabled(false);
             }
         }
     }
 
+    /**
+     * Helper method to move replay timeline to the current move. If
+     * user drags the timeline or seek was postponed, the timeline
+     * stays and the postponed seek is sent.
+     */
+    private void updateReplayTimeline() {
+        if (!model.isReplay()) return;
+        isTimelineSyncing = true;
+        replayTimeline.setMaximum(model.getMovesCount());
+        if (pendingSeek < 0 && !replayTimeline.getValueIsAdjusting()) {
+            replayTimeline.setValue(model.getCurrentMove());
+        }
+        isTimelineSyncing = false;
+        if (pendingSeek >= 0 && pendingSeek != model.getCurrentMove()) {
+            int moveNumber = pendingSeek;
+            pendingSeek = -1;
+            try {
+                model.seek(moveNumber);
+            } catch (ModelStateException ex) {
+                pendingSeek = moveNumber;
+            }
+        } else {
+            pendingSeek = -1;
+        }
+    }
+
+    /**
+     * Applies only the changes made by the model operation: changed
+     * cells, added and removed words, scores, current player and
+     * current move. User input in progress is reset. Changes already
+     * seen by the full synchronization are skipped.
+     *
+     * @param changes changes made by the model operation
+     */
+    private void applyModelChanges(ModelChanges changes) {
+        if (changes.getOperationNumber() <= syncedOperations) return;
+        syncedOperations = changes.getOperationNumber();
+
+        clearHint();
+        resetUserInput();
+
+        // update changed cells
+        for (ModelChanges.CellChange cellChange : changes.getChangedCells()) {
+            gameFieldLabels[cellChange.getY()][cellChange.getX()]
+                    .setText(String.valueOf(cellChange.getValue()));
+        }
+
+        // update current player and current move
+        currentPlayer = model.getPlayers().get(changes.getCurrentPlayer());
+        pageLabels.get(Labels.CURRENT_PLAYER_NAME).setText(currentPlayer.getName());
+        pageLabels.get(Labels.MOVE_NUMBER).setText(String.valueOf(changes.getCurrentMove()));
+
+        // update scores and players lists
+        pageLabels.get(Labels.FP_SCORE).setText(String.valueOf(changes.getScore(0)));
+        pageLabels.get(Labels.SP_SCORE).setText(String.valueOf(changes.getScore(1)));
+        applyWordListChanges(pageWordLists.get(WordLists.FP_LIST), changes, 0);
+        applyWordListChanges(pageWordLists.get(WordLists.SP_LIST), changes, 1);
+
+        updateButtonsState();
+        updateReplayTimeline();
+    }
+
+    /**
+     * Helper method to reset user input in progress: the set letter,
+     * which is never in the model, selected cell and current word.
+     */
+    private void resetUserInput() {
+        if (setCell != null) {
+            getFieldLabelByCell(setCell).setText(String.valueOf(EMPTY_CELL_VALUE));
+            setCell = null;
+        }
+        if (selectedCell != null) {
+            JLabel selectedLabel = getFieldLabelByCell(selectedCell);
+            selectedLabel.setText(String.valueOf(selectedCell.getValue()));
+            selectedLabel.setBackground(DEFAULT_CELL_COLOR);
+        }
+        clearWord();
+    }
+
+    /**
+     * Helper method to remove and add the changed player words
+     *
+     * @param wordList      player word list model
+     * @param changes       changes made by the model operation
+     * @param playerIndex   player turn order number
+     */
+    private void applyWordListChanges(DefaultListModel<String> wordList,
+                                      ModelChanges changes, int playerIndex) {
+        int removedWordsCount = changes.getRemovedWordsCount(playerIndex);
+        if (removedWordsCount > 0) {
+            wordList.removeRange(wordList.size() - removedWordsCount, wordList.size() - 1);
+        }
+        for (String word : changes.getAddedWords(playerIndex)) {
+            wordList.addElement(word);
+        }
+    }
+
     @Override
     public void onMove(GameModel model) {
-        try {
-            SwingUtilities.invokeAndWait(this::syncWithModel);
-        } catch (Exception e) {
-            logger.error("Cannot apply move model changes", e);
-        }
+        SwingUtilities.invokeLater(this::syncWithModel);
+    }
+    @Override
+    public void onMove(GameModel model, ModelChanges changes) {
+        SwingUtilities.invokeLater(() -> applyModelChanges(changes));
     }
     @Override
     public void onFinish(GameModel model) {
+        List<PostGameAnalyzer.MoveAnalysis> analysis;
         try {
-            SwingUtilities.invokeAndWait(() -> {
-                syncWithModel();
-                WordmasterUtils.showGameEndsAlert(parentView.getFrame(), model.getWinners(),
-                                                    parentView.getSettings().getLanguage());
-
-                if (WordmasterUtils.askSaveReplay(parentView.getFrame(),
-                                                    parentView.getSettings().getLanguage())) {
-                    saveModel();
-                }
-                parentView.showPage(View.Pages.STARTUP);
-            });
-        } catch (Exception e) {
-            logger.error("Cannot apply end game model changes", e);
+            analysis = model.analyzePlayedMoves();
+        } catch (RuntimeException e) {
+            logger.error("Cannot analyze played moves", e);
+            analysis = null;
         }
+        List<PostGameAnalyzer.MoveAnalysis> playedMovesAnalysis = analysis;
+        SwingUtilities.invokeLater(() -> {
+            syncWithModel();
+            WordmasterUtils.showGameEndsAlert(parentView.getFrame(), model.getWinners(),
+                                                playedMovesAnalysis, parentView.getSettings().getLanguage());
+
+            if (WordmasterUtils.askSaveReplay(parentView.getFrame(),
+                                                parentView.getSettings().getLanguage())) {
+                saveModel();
+            }
+            parentView.showPage(View.Pages.STARTUP);
+        });
     }
     @Override
     public void onInvalidMove(GameModel model, int type) {
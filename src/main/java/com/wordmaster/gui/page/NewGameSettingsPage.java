@@ -5,11 +5,12 @@ import com.wordmaster.gui.custom.LabelFactory;
 import com.wordmaster.gui.View;
 import com.wordmaster.gui.custom.LimitCharactersDocument;
 import com.wordmaster.gui.custom.WordmasterUtils;
-import com.wordmaster.gui.i18n.Language;
+import com.wordmaster.gui.i18n.LanguagePack;
 import com.wordmaster.gui.listeners.MenuItemListener;
 import com.wordmaster.model.ComputerPlayer;
 import com.wordmaster.model.GameField;
 import com.wordmaster.model.GameModel;
+import com.wordmaster.model.OpeningBook;
 import com.wordmaster.model.Player;
 import com.wordmaster.model.algorithm.Vocabulary;
 import com.wordmaster.model.exception.ModelInitializeException;
@@ -416,7 +417,7 @@ public class NewGameSettingsPage extends Page {
      */
     private String validateAndGetStartWord() {
         // validation
-        Language language = parentView.getSettings().getLanguage();
+        LanguagePack language = parentView.getSettings().getLanguage();
         String startWord = startWordInput.getText();
 
         if (startWord.length() < GameField.MIN_START_WORD_SIZE || !language.validateWordLetters(startWord)) {
@@ -433,7 +434,7 @@ public class NewGameSettingsPage extends Page {
      * @return vocabulary object on success, null on error
      */
     private Vocabulary getVocabulary() {
-        Language language = parentView.getSettings().getLanguage();
+        LanguagePack language = parentView.getSettings().getLanguage();
         Future<Vocabulary> vocabulary = Vocabulary.getVocabulary(language);
         if (!vocabulary.isDone()) {
             WordmasterUtils.showErrorAlert(parentView.getFrame(),
@@ -492,8 +493,28 @@ public class NewGameSettingsPage extends Page {
         };
     }
 
+    /**
+     * Helper method to get the difficulty of the start word for
+     * the random game: the highest computer player difficulty.
+     *
+     * @param players game players
+     * @return start word difficulty, medium if there is no computer players
+     */
+    private ComputerPlayer.Difficulty getGameDifficulty(List<Player> players) {
+        ComputerPlayer.Difficulty difficulty = null;
+        for (Player player : players) {
+            if (!player.isComputer()) continue;
+            ComputerPlayer.Difficulty playerDifficulty = ((ComputerPlayer) player).getDifficulty();
+            if (difficulty == null || playerDifficulty.compareTo(difficulty) > 0) {
+                difficulty = playerDifficulty;
+            }
+        }
+        return difficulty != null ? difficulty : ComputerPlayer.Difficulty.MEDIUM;
+    }
+
     /**
      * Starts game with random player names and start word.
+     * Start word is taken from the opening book, if language has one.
      * Player types and computer player settings stays the same
      *
      * @return
@@ -521,7 +542,17 @@ public class NewGameSettingsPage extends Page {
                 List<Player> players = validateAndGetPlayers();
                 if (players == null) return;
             try {
-                String startWord = vocabulary.getRandomWord(GameField.MAX_START_WORD_SIZE);
+                String startWord = OpeningBook.getOpeningBook(parentView.getSettings().getLanguage())
+                        .pickStartWord(getGameDifficulty(players), GameField.MAX_START_WORD_SIZE, vocabulary);
+                if (startWord == null) {
+                    startWord = vocabulary.getRandomWord(GameField.MAX_START_WORD_SIZE);
+                }
+                if (startWord == null) {
+                    logger.error("No words in vocabulary to start game with");
+                    WordmasterUtils.showErrorAlert(parentView.getFrame(),
+                            "e_game_initializing", parentView.getSettings().getLanguage());
+                    return;
+                }
 
                 startGame(players, vocabulary, startWord);
             } catch (Exception ex) {
@@ -1,7 +1,7 @@
 package com.wordmaster.gui.page;
 
 import com.wordmaster.gui.View;
-import com.wordmaster.gui.i18n.Language;
+import com.wordmaster.gui.i18n.LanguagePack;
 
 import javax.swing.*;
 
@@ -15,7 +15,7 @@ import javax.swing.*;
 public abstract class Page {
     protected View parentView;
     protected JComponent page = null;
-    protected Language currentLanguage;
+    protected LanguagePack currentLanguage;
 
     Page(View parentView) {
         this.parentView = parentView;
@@ -38,7 +38,7 @@ public abstract class Page {
      * Hook to prepare page before showing
      */
     public void preShow() {
-        Language newLanguage = parentView.getSettings().getLanguage();
+        LanguagePack newLanguage = parentView.getSettings().getLanguage();
         if (currentLanguage != newLanguage) {
             currentLanguage = newLanguage;
             update();
@@ -6,7 +6,8 @@ import com.wordmaster.gui.audio.SoundType;
 import com.wordmaster.gui.custom.ButtonFactory;
 import com.wordmaster.gui.custom.LabelFactory;
 import com.wordmaster.gui.custom.WordmasterUtils;
-import com.wordmaster.gui.i18n.Language;
+import com.wordmaster.gui.i18n.LanguagePack;
+import com.wordmaster.gui.i18n.LanguagePacks;
 import com.wordmaster.gui.listeners.MenuItemListener;
 import com.wordmaster.gui.listeners.SoundButtonListener;
 import org.slf4j.Logger;
@@ -33,7 +34,7 @@ public class SettingsPage extends Page {
     private Map<Labels, JLabel> pageLabels = new HashMap<>();
     private Map<Buttons, JButton> pageButtons = new HashMap<>();
     private Settings settings = new Settings(parentView.getSettings());
-    private JComboBox<Language> languagePicker;
+    private JComboBox<LanguagePack> languagePicker;
     private JComboBox<Settings.SupportedLAF> lafPicker;
 
     private enum Buttons {
@@ -60,9 +61,9 @@ public class SettingsPage extends Page {
         languageLabel.setBackground(Color.BLUE);
         pageLabels.put (Labels.LANGUAGE, languageLabel);
 
-        languagePicker = new JComboBox<>(Language.values());
+        languagePicker = new JComboBox<>(LanguagePacks.getLanguagePacks().toArray(new LanguagePack[0]));
         languagePicker.addItemListener((ItemEvent e) ->
-            settings.setLanguage((Language)e.getItem())
+            settings.setLanguage((LanguagePack)e.getItem())
         );
         languagePicker.setSelectedItem(settings.getLanguage());
         languagePicker.setPreferredSize(new Dimension(100, 25));
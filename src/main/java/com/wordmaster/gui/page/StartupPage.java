@@ -5,7 +5,7 @@ import com.wordmaster.gui.audio.SoundType;
 import com.wordmaster.gui.custom.ButtonFactory;
 import com.wordmaster.gui.View;
 import com.wordmaster.gui.custom.WordmasterUtils;
-import com.wordmaster.gui.i18n.Language;
+import com.wordmaster.gui.i18n.LanguagePack;
 import com.wordmaster.gui.listeners.MenuItemListener;
 import com.wordmaster.gui.listeners.SoundButtonListener;
 import com.wordmaster.model.GameModel;
@@ -115,7 +115,7 @@ public class StartupPage extends Page {
             return null;
         }
 
-        Language language = parentView.getSettings().getLanguage();
+        LanguagePack language = parentView.getSettings().getLanguage();
         Future<Vocabulary> vocabulary = Vocabulary.getVocabulary(language);
         if (!vocabulary.isDone()) {
             WordmasterUtils.showErrorAlert(parentView.getFrame(),
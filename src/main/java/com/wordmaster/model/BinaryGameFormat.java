@@ -0,0 +1,371 @@
+package com.wordmaster.model;
+
+import com.wordmaster.model.exception.ModelInitializeException;
+
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compact binary game save format. Moves are stored as varint cell
+ * index, letter and the result word path, packed as start cell and 2-bit
+ * steps to the near cells. Game field and player words are not stored,
+ * they are restored by applying saved moves to the start word. Previous
+ * cell value is not stored too, each move fills an empty cell.
+ * <p>
+ * Layout: magic, version, start word, players, seed, start time, current
+ * move, moves. Version 1 saves have no seed, they get a new one on loading.
+ * Version 1-3 saves have no start time, loading time is used instead.
+ * Version 1 and 2 moves have previous cell value, it is skipped on loading.
+ * <p>
+ * Lengths and counts are checked before anything is allocated for them,
+ * so corrupted data fails with <code>IOException</code>.
+ *
+ * @author Mike
+ * @version 1.0
+ */
+class BinaryGameFormat {
+    static final byte[] MAGIC = {'W', 'M', 'G', 'B'};
+    static final int VERSION = 4;
+    static final int FIRST_VERSION_WITHOUT_PREV_CELL_VALUE = 3;
+    static final int FIRST_VERSION_WITH_START_TIME = 4;
+
+    private static final int STEP_LEFT = 0;
+    private static final int STEP_RIGHT = 1;
+    private static final int STEP_TOP = 2;
+    private static final int STEP_BOTTOM = 3;
+    private static final int FLAG_COMPUTER = 1;
+    private static final int MAX_PREALLOCATED_SIZE = 64;
+    private static final int STRING_CHUNK_SIZE = 256;
+
+    private BinaryGameFormat() {
+
+    }
+
+    /**
+     * Checks if stream starts with binary save magic. Stream must
+     * support mark, its position stays unchanged.
+     *
+     * @param is stream to check
+     * @return true if stream contains binary save
+     * @throws IOException if any reading error occurs
+     */
+    static boolean isBinary(InputStream is) throws IOException {
+        return startsWith(is, MAGIC);
+    }
+
+    /**
+     * Writes model to the stream.
+     *
+     * @param model model to write, should not be changed during writing
+     * @param os    stream to write to
+     * @throws IOException if any writing error occurs
+     */
+    static void write(GameModel model, OutputStream os) throws IOException {
+        os.write(MAGIC);
+        writeVarint(os, VERSION);
+        writeString(os, model.getGameField().getStartWord());
+
+        List<Player> players = model.getPlayers();
+        writeVarint(os, players.size());
+        for (Player player : players) {
+            writePlayer(os, player);
+        }
+        writeLong(os, model.getSeed());
+        writeLong(os, model.getStartTime());
+
+        writeVarint(os, model.getCurrentMove());
+        List<Move> moves = model.getMoves();
+        writeVarint(os, moves.size());
+        for (Move move : moves) {
+            writeMove(os, move);
+        }
+    }
+
+    /**
+     * Reads model from the stream. Model is not initialized, it
+     * has no algorithm and no threads.
+     *
+     * @param is stream to read from
+     * @return read model
+     * @throws IOException if any reading error occurs or data is corrupted
+     */
+    static GameModel read(InputStream is) throws IOException {
+        for (byte b : MAGIC) {
+            if (readByte(is) != b) {
+                throw new IOException("Not a binary game save");
+            }
+        }
+        int version = readVarint(is);
+        if (version < 1 || version > VERSION) {
+            throw new IOException("Unsupported binary game save version " + version);
+        }
+        String startWord = readString(is);
+
+        int playersCount = readCount(is);
+        if (playersCount == 0) {
+            throw new IOException("Binary game save without players");
+        }
+        List<Player> players = new ArrayList<>(Math.min(playersCount, MAX_PREALLOCATED_SIZE));
+        for (int i = 0; i < playersCount; i++) {
+            players.add(readPlayer(is));
+        }
+        long seed = version > 1 ? readLong(is) : GameRandom.newSeed();
+        long startTime = version >= FIRST_VERSION_WITH_START_TIME ? readLong(is) : System.currentTimeMillis();
+
+        int currentMove = readCount(is);
+        int movesCount = readCount(is);
+        if (currentMove > movesCount) {
+            throw new IOException("Current move is out of saved moves");
+        }
+        boolean hasPrevCellValue = version < FIRST_VERSION_WITHOUT_PREV_CELL_VALUE;
+        List<Move> moves = new ArrayList<>(Math.min(movesCount, MAX_PREALLOCATED_SIZE));
+        for (int i = 0; i < movesCount; i++) {
+            moves.add(readMove(is, hasPrevCellValue));
+        }
+        try {
+            return GameModel.restore(players, startWord, moves, currentMove, seed, startTime);
+        } catch (ModelInitializeException e) {
+            throw new IOException("Corrupted binary game save", e);
+        }
+    }
+
+    static void writePlayer(OutputStream os, Player player) throws IOException {
+        writeString(os, player.getName());
+        if (player.isComputer()) {
+            ComputerPlayer computerPlayer = (ComputerPlayer) player;
+            os.write(FLAG_COMPUTER);
+            writeVarint(os, computerPlayer.getDifficulty().ordinal());
+            writeVarint(os, computerPlayer.getDelay());
+        } else {
+            os.write(0);
+        }
+    }
+
+    static Player readPlayer(InputStream is) throws IOException {
+        String name = readString(is);
+        int flags = readByte(is);
+        if ((flags & FLAG_COMPUTER) == 0) {
+            return new Player(name);
+        }
+        int difficulty = readVarint(is);
+        int delay = readVarint(is);
+        ComputerPlayer.Difficulty[] difficulties = ComputerPlayer.Difficulty.values();
+        if (difficulty < 0 || difficulty >= difficulties.length) {
+            throw new IOException("Unknown computer difficulty " + difficulty);
+        }
+        return new ComputerPlayer(name, difficulties[difficulty], delay);
+    }
+
+    /**
+     * Writes move as cell index, new letter and packed result word path.
+     *
+     * @param os    stream to write to
+     * @param move  move to write
+     * @throws IOException if any writing error occurs
+     */
+    static void writeMove(OutputStream os, Move move) throws IOException {
+        writeVarint(os, toIndex(move.getCellX(), move.getCellY()));
+        writeVarint(os, move.getNewCellValue());
+
+        int[][] path = move.getResultWordCells();
+        writeVarint(os, path.length);
+        if (path.length == 0) return;
+        writeVarint(os, toIndex(path[0][0], path[0][1]));
+        int packed = 0;
+        int packedSteps = 0;
+        for (int i = 1; i < path.length; i++) {
+            packed |= getStep(path[i - 1], path[i]) << (packedSteps * 2);
+            packedSteps++;
+            if (packedSteps == 4) {
+                os.write(packed);
+                packed = 0;
+                packedSteps = 0;
+            }
+        }
+        if (packedSteps > 0) {
+            os.write(packed);
+        }
+    }
+
+    /**
+     * Reads move written by <code>writeMove</code>. Move fills an empty
+     * cell, so its previous cell value is empty.
+     *
+     * @param is                stream to read from
+     * @param hasPrevCellValue  true if move was written with previous cell value by older versions
+     * @return read move
+     * @throws IOException if any reading error occurs or data is corrupted
+     */
+    static Move readMove(InputStream is, boolean hasPrevCellValue) throws IOException {
+        Move move = new Move();
+        int cellIndex = readCellIndex(is);
+        move.setCell(cellIndex % GameField.FIELD_WIDTH, cellIndex / GameField.FIELD_WIDTH);
+        move.setNewCellValue((char) readVarint(is));
+        if (hasPrevCellValue) {
+            readVarint(is);
+        }
+        move.setPrevCellValue(GameField.EMPTY_CELL_VALUE);
+
+        int pathLength = readVarint(is);
+        if (pathLength < 0 || pathLength > GameField.FIELD_WIDTH * GameField.FIELD_HEIGHT) {
+            throw new IOException("Corrupted result word length " + pathLength);
+        }
+        int[][] path = new int[pathLength][];
+        if (pathLength > 0) {
+            int startIndex = readCellIndex(is);
+            path[0] = new int[] {startIndex % GameField.FIELD_WIDTH, startIndex / GameField.FIELD_WIDTH};
+            int packed = 0;
+            for (int i = 1; i < pathLength; i++) {
+                int stepNumber = (i - 1) % 4;
+                if (stepNumber == 0) {
+                    packed = readByte(is);
+                }
+                path[i] = makeStep(path[i - 1], (packed >> (stepNumber * 2)) & 3);
+            }
+        }
+        move.setResultWordCells(path);
+        return move;
+    }
+
+    static void writeVarint(OutputStream os, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            os.write((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        os.write(value);
+    }
+
+    static int readVarint(InputStream is) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            int b = readByte(is);
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Corrupted varint");
+    }
+
+    static void writeLong(OutputStream os, long value) throws IOException {
+        for (int shift = 56; shift >= 0; shift -= 8) {
+            os.write((int) (value >>> shift));
+        }
+    }
+
+    static long readLong(InputStream is) throws IOException {
+        long value = 0;
+        for (int i = 0; i < 8; i++) {
+            value = (value << 8) | readByte(is);
+        }
+        return value;
+    }
+
+    static void writeString(OutputStream os, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarint(os, bytes.length);
+        os.write(bytes);
+    }
+
+    /**
+     * Reads string written by <code>writeString</code>. Bytes are read
+     * by chunks, so length larger than the rest of stream fails on its
+     * end without allocating the whole length.
+     *
+     * @param is stream to read from
+     * @return read string
+     * @throws IOException if any reading error occurs or length is corrupted
+     */
+    static String readString(InputStream is) throws IOException {
+        int length = readVarint(is);
+        if (length < 0) {
+            throw new IOException("Corrupted string length " + length);
+        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(Math.min(length, STRING_CHUNK_SIZE));
+        byte[] chunk = new byte[Math.min(length, STRING_CHUNK_SIZE)];
+        int read = 0;
+        while (read < length) {
+            int n = is.read(chunk, 0, Math.min(chunk.length, length - read));
+            if (n < 0) throw new EOFException("Unexpected end of binary save");
+            bytes.write(chunk, 0, n);
+            read += n;
+        }
+        return new String(bytes.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Reads count of the following items.
+     *
+     * @param is stream to read from
+     * @return non-negative count
+     * @throws IOException if any reading error occurs or count is negative
+     */
+    static int readCount(InputStream is) throws IOException {
+        int count = readVarint(is);
+        if (count < 0) {
+            throw new IOException("Corrupted count " + count);
+        }
+        return count;
+    }
+
+    static int readByte(InputStream is) throws IOException {
+        int b = is.read();
+        if (b < 0) throw new EOFException("Unexpected end of binary save");
+        return b;
+    }
+
+    static boolean startsWith(InputStream is, byte[] magic) throws IOException {
+        is.mark(magic.length);
+        try {
+            for (byte b : magic) {
+                if (is.read() != (b & 0xFF)) return false;
+            }
+            return true;
+        } finally {
+            is.reset();
+        }
+    }
+
+    private static int toIndex(int x, int y) {
+        return y * GameField.FIELD_WIDTH + x;
+    }
+
+    private static int readCellIndex(InputStream is) throws IOException {
+        int index = readVarint(is);
+        if (index < 0 || index >= GameField.FIELD_WIDTH * GameField.FIELD_HEIGHT) {
+            throw new IOException("Corrupted cell index " + index);
+        }
+        return index;
+    }
+
+    private static int getStep(int[] from, int[] to) throws IOException {
+        int dx = to[0] - from[0];
+        int dy = to[1] - from[1];
+        if (dx == -1 && dy == 0) return STEP_LEFT;
+        if (dx == 1 && dy == 0) return STEP_RIGHT;
+        if (dx == 0 && dy == -1) return STEP_TOP;
+        if (dx == 0 && dy == 1) return STEP_BOTTOM;
+        throw new IOException("Result word cells are not near");
+    }
+
+    private static int[] makeStep(int[] from, int step) throws IOException {
+        int x = from[0];
+        int y = from[1];
+        switch (step) {
+            case STEP_LEFT: x--; break;
+            case STEP_RIGHT: x++; break;
+            case STEP_TOP: y--; break;
+            default: y++;
+        }
+        if (x < 0 || x >= GameField.FIELD_WIDTH || y < 0 || y >= GameField.FIELD_HEIGHT) {
+            throw new IOException("Corrupted result word path");
+        }
+        return new int[] {x, y};
+    }
+}
@@ -1,14 +1,19 @@
 package com.wordmaster.model;
 
+import com.wordmaster.model.algorithm.Algorithm;
+import com.wordmaster.model.algorithm.EndgameSolver;
+import com.wordmaster.model.algorithm.Vocabulary;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import javax.xml.bind.annotation.*;
 import java.util.*;
+import java.util.function.ToIntFunction;
 
 /**
  * Represents computer player. Move selecting logic
- * depends on difficulty.
+ * depends on difficulty: it prefers words of some length and
+ * rarely knows rare words.
  *
  * @author Mike
  * @version 1.0
@@ -30,6 +35,17 @@ public class ComputerPlayer extends Player implements ModelAware {
                 skipProbabilityMap.put(4, 10);
                 return skipProbabilityMap;
             }
+            protected TreeMap<Integer, Integer> getKnowProbabilityMap() {
+                TreeMap<Integer, Integer> knowProbabilityMap = new TreeMap<>();
+                knowProbabilityMap.put(0, 100);
+                knowProbabilityMap.put(3, 70);
+                knowProbabilityMap.put(6, 30);
+                knowProbabilityMap.put(8, 10);
+                return knowProbabilityMap;
+            }
+            protected int getAcceptedMovesToStop() {
+                return 16;
+            }
         },
         MEDIUM {
             protected TreeMap<Integer, Integer> getTakeProbabilityMap() {
@@ -42,6 +58,17 @@ public class ComputerPlayer extends Player implements ModelAware {
                 skipProbabilityMap.put(7, 30);
                 return skipProbabilityMap;
             }
+            protected TreeMap<Integer, Integer> getKnowProbabilityMap() {
+                TreeMap<Integer, Integer> knowProbabilityMap = new TreeMap<>();
+                knowProbabilityMap.put(0, 100);
+                knowProbabilityMap.put(5, 80);
+                knowProbabilityMap.put(7, 50);
+                knowProbabilityMap.put(9, 30);
+                return knowProbabilityMap;
+            }
+            protected int getAcceptedMovesToStop() {
+                return 16;
+            }
         },
         HARD {
             protected TreeMap<Integer, Integer> getTakeProbabilityMap() {
@@ -51,21 +78,82 @@ public class ComputerPlayer extends Player implements ModelAware {
                 skipProbabilityMap.put(5, 90);
                 return skipProbabilityMap;
             }
+            protected TreeMap<Integer, Integer> getKnowProbabilityMap() {
+                TreeMap<Integer, Integer> knowProbabilityMap = new TreeMap<>();
+                knowProbabilityMap.put(0, 100);
+                return knowProbabilityMap;
+            }
+            protected boolean isSolvingEndgame() {
+                return true;
+            }
         };
+        private final TreeMap<Integer, Integer> takeProbabilityMap;
+        private final TreeMap<Integer, Integer> knowProbabilityMap;
+
+        Difficulty() {
+            takeProbabilityMap = getTakeProbabilityMap();
+            knowProbabilityMap = getKnowProbabilityMap();
+        }
+
         protected abstract TreeMap<Integer, Integer> getTakeProbabilityMap();
 
+        /**
+         * Number of accepted moves after which move generation is stopped.
+         * Easy players take one of the first words they see, hard ones look
+         * through all the moves.
+         *
+         * @return number of accepted moves to stop generation
+         */
+        protected int getAcceptedMovesToStop() {
+            return Integer.MAX_VALUE;
+        }
+
+        /**
+         * Checks if computer player plays the endgame exactly.
+         *
+         * @return true if endgame is solved by the exhaustive search
+         */
+        protected boolean isSolvingEndgame() {
+            return false;
+        }
+
+        /**
+         * Probabilities to know the word by word rarity
+         *
+         * @return map of the lowest rarity to the percent
+         */
+        protected abstract TreeMap<Integer, Integer> getKnowProbabilityMap();
+
         /**
          * Makes a decision if computer player should take word based
          * on word length.
          *
          * @param wordLength the word length.
+         * @param random     generator of the current move
          * @return true if computer player accepts this move
          */
-        public boolean needToShouldTake(int wordLength) {
+        public boolean needToShouldTake(int wordLength, SplittableRandom random) {
             if (wordLength < 2) return true;
-            int randomPercent = new Random().nextInt(100);
-            TreeMap<Integer, Integer> m = getTakeProbabilityMap();
-            return randomPercent < m.floorEntry(wordLength).getValue();
+            int randomPercent = random.nextInt(100);
+            return randomPercent < takeProbabilityMap.floorEntry(wordLength).getValue();
+        }
+
+        /**
+         * Makes a decision if computer player should take word based
+         * on word length and rarity. Rare words are taken only if computer
+         * player knows them. For the vocabularies without frequencies rarity
+         * is estimated by the word letters, see <code>Vocabulary</code>.
+         *
+         * @param wordLength    the word length
+         * @param rarity        the word rarity, see <code>Vocabulary.getRarity</code>
+         * @param random        generator of the current move
+         * @return true if computer player accepts this move
+         */
+        public boolean needToShouldTake(int wordLength, int rarity, SplittableRandom random) {
+            if (!needToShouldTake(wordLength, random)) return false;
+            if (rarity == Vocabulary.UNKNOWN_RARITY) return true;
+            int randomPercent = random.nextInt(100);
+            return randomPercent < knowProbabilityMap.floorEntry(rarity).getValue();
         }
     }
     @XmlAttribute
@@ -88,22 +176,78 @@ public class ComputerPlayer extends Player implements ModelAware {
     }
 
     /**
-     * Selects one move from list according to computer difficulty.
+     * Getter for computer difficulty
      *
-     * @param variants list ov move variants
-     * @return selected move
+     * @return computer difficulty
      */
-    Move selectMove(List<Move> variants) {
-        if (variants.size() == 0) return null;
-        Collections.shuffle(variants);
-        Move selectedMove = variants.get(0);
-        for (Move m : variants) {
-            if (difficulty.needToShouldTake(m.getResultWordSize())) {
-                selectedMove = m;
-                break;
-            }
+    public Difficulty getDifficulty() {
+        return difficulty;
+    }
+
+    /**
+     * Getter for computer move delay
+     *
+     * @return delay before move in milliseconds
+     */
+    public int getDelay() {
+        return delay;
+    }
+
+    @Override
+    Player copy() {
+        ComputerPlayer copy = new ComputerPlayer(name, difficulty, delay);
+        copy.score = score;
+        copy.words.addAll(words);
+        return copy;
+    }
+
+    /**
+     * Selects move according to computer difficulty. Moves are streamed
+     * to the move selector, see <code>createMoveSelector</code>. Two players
+     * endgame is solved exactly if difficulty allows it, moves are selected
+     * as usual if it cannot be solved.
+     *
+     * @param algorithm     model algorithm
+     * @param gameField     model game field
+     * @param usedWords     words which cannot be used in moves
+     * @param playersCount  number of players in game
+     * @param random        generator of the current move
+     * @return selected move or null if there are no moves
+     */
+    Move selectMove(Algorithm algorithm, GameField gameField, Set<String> usedWords,
+                    int playersCount, SplittableRandom random) {
+        MoveSelector selector = createMoveSelector(algorithm::getWordRarity, random);
+        if (difficulty.isSolvingEndgame() && playersCount == 2 && EndgameSolver.isEndgame(gameField)) {
+            List<Move> moves = new ArrayList<>();
+            algorithm.generateWithout(usedWords, moves::add, () -> false);
+            Move solvedMove = algorithm.solveEndgame(moves, usedWords, EndgameSolver.DEFAULT_NODES_BUDGET);
+            if (solvedMove != null) return solvedMove;
+            moves.forEach(selector::onMove);
+            return selector.getSelectedMove();
         }
-        return selectedMove;
+        if (difficulty.getAcceptedMovesToStop() == Integer.MAX_VALUE) {
+            algorithm.generateWithout(usedWords, selector, selector::isDone);
+        } else {
+            algorithm.generateWithout(usedWords, selector, selector::isDone, random.split());
+        }
+        return selector.getSelectedMove();
+    }
+
+    /**
+     * Creates selector, which selects move according to computer
+     * difficulty from the generated moves. Easy and medium players stop
+     * after several accepted moves, moves are generated in the random
+     * order for them, so the selected move is not biased towards the
+     * first cells and letters.
+     *
+     * @param rarity   rarity of the move word
+     * @param random   generator of the current move
+     * @return move selector
+     */
+    MoveSelector createMoveSelector(ToIntFunction<Move> rarity, SplittableRandom random) {
+        return new MoveSelector((Move m) ->
+                difficulty.needToShouldTake(m.getResultWordSize(), rarity.applyAsInt(m), random),
+                difficulty.getAcceptedMovesToStop(), random);
     }
 
     @Override
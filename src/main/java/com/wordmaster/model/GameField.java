@@ -11,7 +11,8 @@ import java.util.*;
 
 /**
  * Represents game field. Internally stores cells in char array
- * and has pretty useful cell and word wrappers.
+ * and has pretty useful cell and word wrappers. Cell wrappers are
+ * created once per field and then shared.
  */
 @XmlType
 public class GameField {
@@ -25,6 +26,7 @@ public class GameField {
     private char[][] field = new char[FIELD_HEIGHT][FIELD_WIDTH];
     @XmlAttribute
     private String startWord;
+    private final Cell[][] cells = createCells();
 
     // for the jaxb
     public GameField() {
@@ -79,7 +81,43 @@ public class GameField {
     }
 
     /**
-     * Creates the cell wrapper object. Top left corner
+     * Creates a copy of game field with the same cell values.
+     *
+     * @return game field copy
+     */
+    GameField copy() {
+        GameField copy = new GameField();
+        copy.startWord = startWord;
+        copy.setCells(field);
+        return copy;
+    }
+
+    /**
+     * Copies raw cell values.
+     *
+     * @return copy of cell values, indexed by y and then by x
+     */
+    char[][] copyCells() {
+        char[][] cells = new char[FIELD_HEIGHT][];
+        for (int y = 0; y < FIELD_HEIGHT; y++) {
+            cells[y] = field[y].clone();
+        }
+        return cells;
+    }
+
+    /**
+     * Sets raw cell values.
+     *
+     * @param cells cell values, indexed by y and then by x
+     */
+    void setCells(char[][] cells) {
+        for (int y = 0; y < FIELD_HEIGHT; y++) {
+            System.arraycopy(cells[y], 0, field[y], 0, FIELD_WIDTH);
+        }
+    }
+
+    /**
+     * Returns the cell wrapper object. Top left corner
      * is the count start point.
      *
      * @param x x position of cell
@@ -87,7 +125,37 @@ public class GameField {
      * @return cell wrapper object
      */
     public Cell getCell(int x, int y) {
-        return new Cell(x, y);
+        return cells[y][x];
+    }
+
+    /**
+     * Creates all the cell wrappers and links them with their near cells.
+     *
+     * @return cell wrappers, indexed by y and then by x
+     */
+    private Cell[][] createCells() {
+        Cell[][] cells = new Cell[FIELD_HEIGHT][FIELD_WIDTH];
+        for (int y = 0; y < FIELD_HEIGHT; y++) {
+            for (int x = 0; x < FIELD_WIDTH; x++) {
+                cells[y][x] = new Cell(x, y);
+            }
+        }
+        for (int y = 0; y < FIELD_HEIGHT; y++) {
+            for (int x = 0; x < FIELD_WIDTH; x++) {
+                Cell cell = cells[y][x];
+                cell.left = x > 0 ? cells[y][x - 1] : null;
+                cell.right = x < FIELD_WIDTH - 1 ? cells[y][x + 1] : null;
+                cell.top = y > 0 ? cells[y - 1][x] : null;
+                cell.bottom = y < FIELD_HEIGHT - 1 ? cells[y + 1][x] : null;
+                List<Cell> nearCells = new ArrayList<>(4);
+                if (cell.left != null) nearCells.add(cell.left);
+                if (cell.right != null) nearCells.add(cell.right);
+                if (cell.top != null) nearCells.add(cell.top);
+                if (cell.bottom != null) nearCells.add(cell.bottom);
+                cell.nearCells = Collections.unmodifiableList(nearCells);
+            }
+        }
+        return cells;
     }
 
     /**
@@ -117,8 +185,13 @@ public class GameField {
      * Wrapper class for the game field cell.
      */
     public class Cell {
-        int x;
-        int y;
+        private final int x;
+        private final int y;
+        private Cell left;
+        private Cell right;
+        private Cell top;
+        private Cell bottom;
+        private List<Cell> nearCells;
 
         private Cell(int x, int y) {
             this.x = x;
@@ -193,15 +266,18 @@ public class GameField {
             } else return false;
         }
 
+        @Override
+        public int hashCode() {
+            return y * FIELD_WIDTH + x;
+        }
+
         /**
          * Returns the cell on left.
          *
          * @return cell on the left or null for the left-corner cell
          */
         public Cell getLeft() {
-            if (x > 0) {
-                return new Cell(x-1, y);
-            } else return null;
+            return left;
         }
 
         /**
@@ -210,9 +286,7 @@ public class GameField {
          * @return cell on the right or null for the right-corner cell
          */
         public Cell getRight() {
-            if (x < FIELD_WIDTH - 1) {
-                return new Cell(x+1, y);
-            } else return null;
+            return right;
         }
 
         /**
@@ -221,9 +295,7 @@ public class GameField {
          * @return cell on the top or null for the left-corner cell
          */
         public Cell getTop() {
-            if (y > 0) {
-                return new Cell(x, y-1);
-            } else return null;
+            return top;
         }
 
         /**
@@ -232,22 +304,15 @@ public class GameField {
          * @return cell on the bottom or null for the left-corner cell
          */
         public Cell getBottom() {
-            if (y < FIELD_HEIGHT - 1) {
-                return new Cell(x, y+1);
-            } else return null;
+            return bottom;
         }
 
         /**
          * Returns near cells. Near cells must have one common edge.
          *
-         * @return list of near cells.
+         * @return unmodifiable list of near cells.
          */
         public List<Cell> getNearCells() {
-            LinkedList<Cell> nearCells = new LinkedList<>();
-            if (getLeft() != null) nearCells.add(getLeft());
-            if (getRight() != null) nearCells.add(getRight());
-            if (getTop() != null) nearCells.add(getTop());
-            if (getBottom() != null) nearCells.add(getBottom());
             return nearCells;
         }
 
@@ -258,10 +323,6 @@ public class GameField {
          * @return true is cell is standalone
          */
         public boolean isStandalone() {
-            Cell left = getLeft();
-            Cell right = getRight();
-            Cell top = getTop();
-            Cell bottom = getBottom();
             boolean leftStandalone = (left == null || left.getValue() == EMPTY_CELL_VALUE);
             boolean rightStandalone = (right == null || right.getValue() == EMPTY_CELL_VALUE);
             boolean topStandalone = (top == null || top.getValue() == EMPTY_CELL_VALUE);
@@ -9,20 +9,30 @@ import com.wordmaster.model.exception.ModelStateException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import javax.xml.bind.JAXBContext;
 import javax.xml.bind.JAXBException;
-import javax.xml.bind.Marshaller;
-import javax.xml.bind.Unmarshaller;
 import javax.xml.bind.annotation.*;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
 import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Set;
 
 /**
  * Represents one game object. Takes care about it state
  * and provides game manipulation interface. Has separate
- * threads to notify subscribers about events and to perform
+ * threads to notify each subscriber about events and to perform
  * game operations like move, undo or redo. Can b
  */
 @XmlRootElement(name="game")
@@ -30,11 +40,16 @@ import java.util.List;
         "playerList",
         "currentMove",
         "gameField",
-        "moves"})
+        "moves",
+        "seed",
+        "startTime"})
 @XmlAccessorType(XmlAccessType.NONE)
 public class GameModel {
     private static final Logger logger = LoggerFactory.getLogger(GameModel.class);
-    private List<ModelAware> modelListeners = Collections.synchronizedList(new LinkedList<>());
+    private static final Object savingMonitor = new Object();
+    private static final Class<?>[] BOUND_CLASSES = {
+            GameModel.class, Player.class, ComputerPlayer.class, GameField.class, Move.class};
+    private final ModelListenerDispatcher listenerDispatcher = new ModelListenerDispatcher();
 
     @XmlElement(name="move")
     @XmlElementWrapper(name="moves")
@@ -51,17 +66,24 @@ public class GameModel {
 
     @XmlElement
     private GameField gameField;
+    @XmlElement
+    private Long seed;
+    @XmlElement
+    private Long startTime;
+    private GameRandom random;
     private Algorithm algorithm;
     private ModelScheduler scheduler;
-    private NotificationThread notificationThread;
+    private MoveJournal journal;
+    private ReplayIndex replayIndex;
 
     private ModelOperation currentOperation;
     private enum ModelOperationType {
-        MAKE_MOVE, GENERATE_MOVE, UNDO, REDO
+        MAKE_MOVE, GENERATE_MOVE, UNDO, REDO, SEEK
     }
 
-    private Move suggestion;
+    private volatile HintEngine hintEngine;
     private boolean isReplay;
+    private volatile int operationsCount;
 
     // for the jaxb
     public GameModel() {
@@ -77,6 +99,21 @@ public class GameModel {
      * @param baseWord      the base word
      */
     public GameModel(List<Player> players, Vocabulary vocabulary, String baseWord) {
+        this(players, vocabulary, baseWord, GameRandom.newSeed());
+    }
+
+    /**
+     * Creates new game model with the specified random seed. Games with the
+     * same seed, players and base word have the same computer moves.
+     *
+     * @param players       list of players
+     * @param vocabulary    vocabulary
+     * @param baseWord      the base word
+     * @param seed          the game random seed
+     */
+    public GameModel(List<Player> players, Vocabulary vocabulary, String baseWord, long seed) {
+        this.seed = seed;
+        startTime = System.currentTimeMillis();
         playerList.addAll(players);
         playerList.forEach((Player player) -> {
             if (player.isComputer()) {
@@ -90,8 +127,7 @@ public class GameModel {
         }
         algorithm = new Algorithm(gameField, vocabulary);
         scheduler = new ModelScheduler(this);
-        notificationThread = new NotificationThread();
-        notificationThread.start();
+        journal = MoveJournal.start(this);
         scheduler.runModelThread();
         logger.debug("New model instance created");
     }
@@ -107,12 +143,15 @@ public class GameModel {
                 return;
             }
             scheduler.waitForMove();
+            cancelHints();
+            ModelChanges changes = new ModelChanges(gameField, playerList);
             if (currentOperation != null) {
                 currentOperation.performOperation();
                 currentOperation = null;
             }
+            changes.complete(gameField, playerList, currentMove, currentPlayer, ++operationsCount);
             scheduler.endOperation();
-            emitMoveEvent();
+            emitMoveEvent(changes);
         }
     }
 
@@ -187,6 +226,71 @@ public class GameModel {
         scheduler.startOperation();
     }
 
+    /**
+     * Publish seek operation to the model thread. Jumps to any replay move
+     * in one operation, the field is restored from the replay index.
+     *
+     * @param moveNumber number of moves to be applied after seeking
+     * @throws ModelStateException if model is not replay, move number is out of
+     *                             replay moves or another operation in progress
+     */
+    public void seek(int moveNumber) throws ModelStateException {
+        if (!isReplay) {
+            throw new ModelStateException("Model was not loaded in replay mode, cannot seek", null);
+        }
+        if (moveNumber < 0 || moveNumber > moves.size()) {
+            throw new ModelStateException("No such move in replay: " + moveNumber, null);
+        }
+        currentOperation = new ModelOperation(ModelOperationType.SEEK);
+        currentOperation.setSeekMove(moveNumber);
+
+        scheduler.startOperation();
+    }
+
+    /**
+     * Starts hint calculation for the current position. Previous hint
+     * calculation is cancelled, the new one is cancelled by the next
+     * model operation. Hints are calculated on the game field copy.
+     *
+     * @param limit     number of the best moves to find
+     * @param budget    calculation time budget in milliseconds
+     * @param callback  callback to stream hints to
+     * @return started hint engine, allows to cancel calculation
+     * @throws ModelStateException if model was loaded in replay mode
+     */
+    public HintEngine requestHints(int limit, long budget, HintCallback callback) {
+        if (isReplay) {
+            throw new ModelStateException("Model was loaded in replay mode, cannot hint", null);
+        }
+        if (limit < 1) {
+            throw new IllegalArgumentException("Illegal hints limit " + limit);
+        }
+        HintEngine engine;
+        scheduler.freeze();
+        try {
+            List<String> usedWords = new LinkedList<>();
+            playerList.forEach((Player p) -> usedWords.addAll(p.getWords()));
+            usedWords.add(gameField.getStartWord());
+            engine = new HintEngine(algorithm, gameField.copy(), usedWords, limit, budget);
+        } finally {
+            scheduler.unfreeze();
+        }
+        cancelHints();
+        hintEngine = engine;
+        engine.start(callback);
+        return engine;
+    }
+
+    /**
+     * Cancels current hint calculation, if any.
+     */
+    private void cancelHints() {
+        HintEngine engine = hintEngine;
+        if (engine != null) {
+            engine.cancel();
+        }
+    }
+
     /**
      * Finishes game with the win of second player. Logic can change
      * in future releases.
@@ -202,30 +306,121 @@ public class GameModel {
     }
 
     /**
-     * Saves model state to the file. Block model changes until complete.
-     * Need to call startGame() after loading.
+     * Saves model state to the file. Model is frozen only while
+     * the snapshot is captured, the snapshot itself is written
+     * in the calling thread. Need to call startGame() after loading.
      *
      * @param file path to save
+     * @throws ModelException if model cannot be written
      */
     public void save(File file) {
+        writeSnapshot(snapshot(), file, SaveFormat.forFile(file));
+    }
+
+    /**
+     * Saves model state to the file asynchronously. Captures the model
+     * snapshot and returns immediately, the snapshot is written in
+     * the background and atomically replaces the target file. Save
+     * format is detected by the file extension.
+     *
+     * @param file      path to save
+     * @param callback  callback to call after saving, may be null
+     */
+    public void save(File file, SaveCallback callback) {
+        save(file, SaveFormat.forFile(file), callback);
+    }
+
+    /**
+     * Saves model state to the file asynchronously in the specified format.
+     *
+     * @param file      path to save
+     * @param format    save format
+     * @param callback  callback to call after saving, may be null
+     */
+    public void save(File file, SaveFormat format, SaveCallback callback) {
+        GameModel snapshot = snapshot();
+        Thread asyncSaving = new Thread(() -> {
+            ModelException error = null;
+            try {
+                writeSnapshot(snapshot, file, format);
+            } catch (ModelException e) {
+                error = e;
+            }
+            if (callback != null) {
+                callback.onSave(file, error);
+            }
+        });
+        asyncSaving.setName("modelSavingThread");
+        asyncSaving.start();
+    }
+
+    /**
+     * Copies all the persistent model state. Model is frozen
+     * during copying, moves are shared as they never change
+     * after being applied.
+     *
+     * @return model copy that can be saved without freezing this model
+     */
+    private GameModel snapshot() {
         scheduler.freeze();
         try {
-            JAXBContext context =
-                    JAXBContext.newInstance( this.getClass(), Player.class,
-                            ComputerPlayer.class, GameField.class, Move.class);
-            Marshaller m = context.createMarshaller();
-            m.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT, Boolean.TRUE );
-            m.marshal(this, file);
-        } catch (JAXBException e) {
-            logger.warn("Cannot marshal model to file {}", file.getName(), e);
-            throw new ModelException("Cannot marshal model to file" + file.getName(), e);
+            GameModel snapshot = new GameModel();
+            playerList.forEach((Player player) -> snapshot.playerList.add(player.copy()));
+            snapshot.currentMove = currentMove;
+            snapshot.gameField = gameField.copy();
+            snapshot.moves.addAll(moves);
+            snapshot.seed = seed;
+            snapshot.startTime = startTime;
+            return snapshot;
+        } finally {
+            scheduler.unfreeze();
+        }
+    }
+
+    /**
+     * Writes the model snapshot to the temporary file near the target
+     * one and then renames it, so the target file is never left
+     * half-written. Saves are serialized with each other.
+     *
+     * @param snapshot  model snapshot to write
+     * @param file      path to save
+     * @param format    save format
+     * @throws ModelException if snapshot cannot be written
+     */
+    private static void writeSnapshot(GameModel snapshot, File file, SaveFormat format) {
+        synchronized (savingMonitor) {
+            File tempFile = null;
+            try {
+                File directory = file.getAbsoluteFile().getParentFile();
+                tempFile = File.createTempFile(file.getName(), ".tmp", directory);
+                if (format == SaveFormat.BINARY) {
+                    try (OutputStream os = new BufferedOutputStream(new FileOutputStream(tempFile))) {
+                        BinaryGameFormat.write(snapshot, os);
+                    }
+                } else {
+                    JaxbContextRegistry.marshal(snapshot, tempFile, BOUND_CLASSES);
+                }
+                try {
+                    Files.move(tempFile.toPath(), file.toPath(),
+                            StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+                } catch (AtomicMoveNotSupportedException e) {
+                    Files.move(tempFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+                }
+                logger.debug("Model saved to file {}", file.getName());
+            } catch (JAXBException | IOException e) {
+                if (tempFile != null && !tempFile.delete()) {
+                    logger.warn("Cannot delete temporary save file {}", tempFile.getName());
+                }
+                logger.warn("Cannot marshal model to file {}", file.getName(), e);
+                throw new ModelException("Cannot marshal model to file" + file.getName(), e);
+            }
         }
-        scheduler.unfreeze();
     }
 
     /**
-     * Loads and initializes game from file. Need to call startGame()
-     * after loading.
+     * Loads and initializes game from file. Save format is detected
+     * by the file content, game journal left after crash can be loaded
+     * as well. Need to call startGame() after loading.
      *
      * @param file      file with save
      * @param vocabulary    vocabulary to use
@@ -233,36 +428,126 @@ public class GameModel {
      * @return  loaded game model
      */
     public static GameModel load(File file, Vocabulary vocabulary, boolean isReplay) {
-        try {
-            JAXBContext context = JAXBContext.newInstance( GameModel.class, Player.class,
-                    ComputerPlayer.class, GameField.class, Move.class);
-            Unmarshaller um = context.createUnmarshaller();
-            GameModel loadedModel = (GameModel)um.unmarshal(file);
-            loadedModel.algorithm = new Algorithm(loadedModel.gameField, vocabulary);
-            loadedModel.scheduler = new ModelScheduler(loadedModel);
-
-            loadedModel.isReplay = isReplay;
-            if (isReplay) {
-                loadedModel.currentMove = 0;    // implicit for the replay case
-                loadedModel.playerList.forEach(Player::clearWords);
-                loadedModel.gameField.clear();
+        GameModel loadedModel = readModel(file);
+        if (loadedModel.seed == null) {
+            // saved before seeds were introduced
+            loadedModel.seed = GameRandom.newSeed();
+        }
+        if (loadedModel.startTime == null) {
+            // saved before start times were introduced
+            loadedModel.startTime = System.currentTimeMillis();
+        }
+        loadedModel.algorithm = new Algorithm(loadedModel.gameField, vocabulary);
+        loadedModel.scheduler = new ModelScheduler(loadedModel);
+
+        loadedModel.isReplay = isReplay;
+        if (isReplay) {
+            loadedModel.currentMove = 0;    // implicit for the replay case
+            loadedModel.playerList.forEach(Player::clearWords);
+            loadedModel.gameField.clear();
+            loadedModel.replayIndex = new ReplayIndex(loadedModel.gameField.getStartWord(), loadedModel.moves);
+        }
+        loadedModel.currentPlayer = loadedModel.currentMove % loadedModel.playerList.size();
+        loadedModel.playerList.forEach((Player player) ->  {
+            if (player.isComputer()) {
+                loadedModel.addModelListener((ComputerPlayer)player);
             }
-            loadedModel.playerList.forEach((Player player) ->  {
-                if (player.isComputer()) {
-                    loadedModel.addModelListener((ComputerPlayer)player);
+        });
+        if (!isReplay) {
+            loadedModel.journal = MoveJournal.start(loadedModel, getRecoveredJournal(file));
+        }
+        loadedModel.scheduler.runModelThread();
+        return loadedModel;
+    }
+
+    /**
+     * Reads not initialized model from the binary or XML save.
+     *
+     * @param file file with save
+     * @return read model
+     * @throws ModelException if file cannot be read
+     */
+    private static GameModel readModel(File file) {
+        try {
+            try (InputStream is = new BufferedInputStream(new FileInputStream(file))) {
+                if (BinaryGameFormat.isBinary(is)) {
+                    return BinaryGameFormat.read(is);
                 }
-            });
-            loadedModel.notificationThread = new NotificationThread();
+                if (MoveJournal.isJournal(is)) {
+                    return MoveJournal.read(is);
+                }
+            }
+            return (GameModel)JaxbContextRegistry.unmarshal(file, BOUND_CLASSES);
+        } catch (JAXBException | IOException e) {
+            logger.warn("Cannot load model from file {}", file.getName(), e);
+            throw new ModelException("Cannot load model from file" + file.getName(), e);
+        }
+    }
 
-            loadedModel.notificationThread.start();
-            loadedModel.scheduler.runModelThread();
-            return loadedModel;
-        } catch (JAXBException e) {
-            logger.warn("Cannot marshal model to file {}", file.getName(), e);
-            throw new ModelException("Cannot marshal model to file" + file.getName(), e);
+    /**
+     * Checks if the model was recovered from the game journal. Such
+     * journal is replaced by the journal of the recovered model.
+     *
+     * @param file  loaded file
+     * @return loaded file if it is a game journal, null otherwise
+     */
+    private static File getRecoveredJournal(File file) {
+        try {
+            return MoveJournal.isJournal(file) ? file : null;
+        } catch (IOException e) {
+            logger.warn("Cannot check recovered game journal {}", file.getName(), e);
+            return null;
         }
     }
 
+    /**
+     * Restores not initialized model from the moves. Applies first
+     * <code>currentMove</code> moves to the start word, words are given
+     * to players in the turn order.
+     *
+     * @param players       list of players
+     * @param startWord     the base word
+     * @param moves         all the game moves, including moves to redo
+     * @param currentMove   number of applied moves
+     * @param seed          the game random seed
+     * @param startTime     time the game was started, in milliseconds
+     * @return restored model
+     * @throws ModelInitializeException if model cannot be restored
+     */
+    static GameModel restore(List<Player> players, String startWord, List<Move> moves,
+                             int currentMove, long seed, long startTime) {
+        if (players.isEmpty() || currentMove > moves.size()) {
+            throw new ModelInitializeException("Illegal restored model state", null);
+        }
+        GameModel model = new GameModel();
+        model.playerList.addAll(players);
+        try {
+            model.gameField = new GameField(startWord);
+        } catch (IllegalArgumentException e) {
+            throw new ModelInitializeException("Illegal GameField initialization", e);
+        }
+        model.moves.addAll(moves);
+        for (int i = 0; i < currentMove; i++) {
+            Move move = moves.get(i);
+            move.getCell(model.gameField).setValue(move.getNewCellValue());
+            model.playerList.get(i % players.size())
+                    .addWord(move.getResultWord(model.gameField).toString());
+        }
+        model.currentMove = currentMove;
+        model.currentPlayer = currentMove % players.size();
+        model.seed = seed;
+        model.startTime = startTime;
+        return model;
+    }
+
+    /**
+     * Prepares game saving and loading machinery in the background,
+     * so the first save or load is not delayed.
+     */
+    public static void warmUpPersistence() {
+        JaxbContextRegistry.warmUp(BOUND_CLASSES);
+    }
+
     /**
      * Prohibits all changes in model until resume()
      */
@@ -282,9 +567,8 @@ public class GameModel {
      */
     public void startGame() {
         if (playerList.get(currentPlayer).isComputer()) {
-            notificationThread.addTask(() -> {
-                ((ComputerPlayer)playerList.get(currentPlayer)).onMove(this);
-            });
+            ComputerPlayer computerPlayer = (ComputerPlayer)playerList.get(currentPlayer);
+            listenerDispatcher.dispatch(computerPlayer, () -> computerPlayer.onMove(this));
         } else {
             analyzePosition();
         }
@@ -300,23 +584,23 @@ public class GameModel {
     }
 
     /**
-     * Allows to subscribe on model events.
+     * Allows to subscribe on model events. Each listener is notified
+     * in its own thread, events come to it in order.
      *
      * @param listener listener to subscribe
      */
     public void addModelListener(ModelAware listener) {
-        modelListeners.add(listener);
+        listenerDispatcher.addListener(listener);
     }
 
     /**
-     * Allows subscribes to go out from subscribe list.
+     * Allows subscribes to go out from subscribe list. Already
+     * queued events are still delivered to the listener.
      *
      * @param listener listener to unsubscribe
      */
     public void removeModelListener(ModelAware listener) {
-        notificationThread.addTask(() -> {
-            modelListeners.remove(listener);
-        });
+        listenerDispatcher.removeListener(listener);
     }
 
     /**
@@ -359,6 +643,15 @@ public class GameModel {
         return playerList;
     }
 
+    /**
+     * Getter for the model moves, including moves to redo
+     *
+     * @return list of moves
+     */
+    List<Move> getMoves() {
+        return moves;
+    }
+
     /**
      * Getter for the winners list
      *
@@ -366,6 +659,21 @@ public class GameModel {
      */
     public List<Player> getWinners() {return winners;}
 
+    /**
+     * Analyzes the moves played in the game, see <code>PostGameAnalyzer</code>.
+     * Takes a while, so it should not be called from the GUI thread.
+     *
+     * @return analysis of each played move
+     */
+    public List<PostGameAnalyzer.MoveAnalysis> analyzePlayedMoves() {
+        List<Move> playedMoves;
+        synchronized (moves) {
+            playedMoves = new ArrayList<>(moves.subList(0, currentMove));
+        }
+        return new PostGameAnalyzer(algorithm, gameField.getStartWord(),
+                new ArrayList<>(playerList), playedMoves).analyze();
+    }
+
     /**
      * Getter for the current move
      *
@@ -375,6 +683,55 @@ public class GameModel {
         return currentMove;
     }
 
+    /**
+     * Getter for the game random seed
+     *
+     * @return seed which all the game randomness is derived from
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Getter for the game start time
+     *
+     * @return time the game was started, in milliseconds
+     */
+    public long getStartTime() {
+        return startTime;
+    }
+
+    /**
+     * Getter for the game random. Used by the model thread only.
+     *
+     * @return game random
+     */
+    GameRandom getRandom() {
+        if (random == null) {
+            random = new GameRandom(seed);
+        }
+        return random;
+    }
+
+    /**
+     * Getter for the number of moves, including moves to redo
+     *
+     * @return number of moves
+     */
+    public int getMovesCount() {
+        return moves.size();
+    }
+
+    /**
+     * Getter for the number of performed model operations. Allows
+     * listeners to skip changes already seen by full synchronization.
+     *
+     * @return number of performed operations
+     */
+    public int getOperationsCount() {
+        return operationsCount;
+    }
+
     /**
      * Getter for replay property
      *
@@ -411,8 +768,12 @@ public class GameModel {
      */
     public void destroy() {
         // send kill message to model
-        notificationThread.raiseDeath();
+        listenerDispatcher.raiseDeath();
         scheduler.raiseDeath();
+        cancelHints();
+        if (journal != null) {
+            journal.close(true);
+        }
     }
 
     /**
@@ -447,7 +808,6 @@ public class GameModel {
                 emitFinishEvent();
                 destroy();
             } else {
-                suggestion = m;
                 logger.debug("There is at least one move: {}",
                         m.getResultWordAsString(gameField));
             }
@@ -456,14 +816,17 @@ public class GameModel {
 
     /**
      * Notifies subscribers about game move.
+     *
+     * @param changes changes made by the move
      */
-    private void emitMoveEvent() {
-        notificationThread.addTask(() -> {
+    private void emitMoveEvent(ModelChanges changes) {
+        listenerDispatcher.dispatch((ModelAware ma) -> {
             pause();
-            modelListeners.forEach((ModelAware ma) -> {
-                ma.onMove(this);
-            });
-            resume();
+            try {
+                ma.onMove(this, changes);
+            } finally {
+                resume();
+            }
         });
     }
 
@@ -471,12 +834,13 @@ public class GameModel {
      * Notifies subscribers about game ends.
      */
     private void emitFinishEvent() {
-        notificationThread.addTask(() -> {
+        listenerDispatcher.dispatch((ModelAware ma) -> {
             pause();
-            modelListeners.forEach((ModelAware ma) -> {
+            try {
                 ma.onFinish(this);
-            });
-            resume();
+            } finally {
+                resume();
+            }
         });
     }
 
@@ -484,10 +848,13 @@ public class GameModel {
      * Notifies subscribers about invalid move.
      */
     private void emitInvalidMoveEvent(int type) {
-        notificationThread.addTask(() -> {
+        listenerDispatcher.dispatch((ModelAware ma) -> {
             pause();
-            modelListeners.forEach((ModelAware ma) -> ma.onInvalidMove(this, type));
-            resume();
+            try {
+                ma.onInvalidMove(this, type);
+            } finally {
+                resume();
+            }
         });
     }
 
@@ -503,6 +870,7 @@ public class GameModel {
         private Move move;
         private ModelOperationType type;
         private int undoRedoTimes = 2;
+        private int seekMove;
 
         ModelOperation(ModelOperationType type) {
             this.type = type;
@@ -516,6 +884,10 @@ public class GameModel {
             this.undoRedoTimes = undoRedoTimes;
         }
 
+        void setSeekMove(int seekMove) {
+            this.seekMove = seekMove;
+        }
+
         /**
          * Detect wich operation to perform and performs it
          */
@@ -537,6 +909,10 @@ public class GameModel {
                     redo();
                     break;
                 }
+                case SEEK: {
+                    seek();
+                    break;
+                }
                 default: {
                     logger.error("Unsupported model operation type");
                     throw new UnsupportedModelOperationException("Unsupported model operation type", null);
@@ -569,24 +945,27 @@ public class GameModel {
          * Represents move generation operation.
          */
         private void generateMove() {
-            List<String> allPlayerWords = new LinkedList<>();
+            Set<String> allPlayerWords = new HashSet<>();
             playerList.forEach((Player p) -> {
                 allPlayerWords.addAll(p.getWords());
             });
             allPlayerWords.add(gameField.getStartWord());
-            List<Move> generatedMoves = algorithm.generateWithout(allPlayerWords);
 
-            if (generatedMoves == null || generatedMoves.size() == 0) {
+            if (playerList.get(currentPlayer).isComputer()) {
+                move = ((ComputerPlayer)playerList.get(currentPlayer)).selectMove(algorithm, gameField,
+                        allPlayerWords, playerList.size(), getRandom().forMove(currentMove));
+            } else {
+                MoveSelector selector = MoveSelector.first();
+                algorithm.generateWithout(allPlayerWords, selector, selector::isDone);
+                move = selector.getSelectedMove();
+            }
+
+            if (move == null) {
                 detectWinners();
                 emitFinishEvent();
                 destroy();
                 return;
             }
-            if (playerList.get(currentPlayer).isComputer()) {
-                move = ((ComputerPlayer)playerList.get(currentPlayer)).selectMove(generatedMoves);
-            } else {
-                move = generatedMoves.get(0);
-            }
             applyMove(move);
         }
 
@@ -603,6 +982,9 @@ public class GameModel {
             move.getCell(gameField).setValue(move.getNewCellValue());
 
             moves.add(move);
+            if (journal != null) {
+                journal.appendMove(move);
+            }
 
             // increase model current move
             currentMove++;
@@ -617,7 +999,6 @@ public class GameModel {
                 currentPlayer++;
             }
 
-            suggestion = null;
             if (!playerList.get(currentPlayer).isComputer()) {
                 analyzePosition();
             }
@@ -642,6 +1023,9 @@ public class GameModel {
                 currentMove--;
                 currentPlayer = getPreviousPlayer();
             }
+            if (journal != null) {
+                journal.appendUndo(undoRedoTimes);
+            }
         }
 
         /**
@@ -671,6 +1055,27 @@ public class GameModel {
                 // increase model current move
                 currentMove++;
             }
+            if (journal != null) {
+                journal.appendRedo(undoRedoTimes);
+            }
+        }
+
+        /**
+         * Represents replay seek operation. Word lists are changed
+         * only by the words between current and desired moves.
+         */
+        private void seek() {
+            scheduler.applyOperation();
+            replayIndex.seekField(gameField, currentMove, seekMove);
+            while (currentMove < seekMove) {
+                playerList.get(currentMove % playerList.size()).addWord(replayIndex.getWord(currentMove));
+                currentMove++;
+            }
+            while (currentMove > seekMove) {
+                currentMove--;
+                playerList.get(currentMove % playerList.size()).removeLastWord();
+            }
+            currentPlayer = currentMove % playerList.size();
         }
     }
 }
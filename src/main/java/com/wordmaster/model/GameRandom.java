@@ -0,0 +1,69 @@
+package com.wordmaster.model;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Random numbers of one game. All the game randomness is derived
+ * from the game seed, which is saved with the game, so computer
+ * moves are the same each time the game is replayed from the same
+ * position: after undo, redo or loading.
+ * <p>
+ * Each move gets its own generator built from the seed and the move
+ * number. Generators are not shared between threads, so they need
+ * no synchronization.
+ *
+ * @author Mike
+ * @version 1.0
+ */
+public final class GameRandom {
+    private final long seed;
+
+    /**
+     * Creates random for the game with specified seed.
+     *
+     * @param seed game seed
+     */
+    public GameRandom(long seed) {
+        this.seed = seed;
+    }
+
+    /**
+     * Generates seed for the new game.
+     *
+     * @return random seed
+     */
+    public static long newSeed() {
+        return ThreadLocalRandom.current().nextLong();
+    }
+
+    /**
+     * Getter for the game seed
+     *
+     * @return game seed
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Creates generator for the move. Generators of the same move
+     * produce the same numbers.
+     *
+     * @param moveNumber zero-based move number
+     * @return generator for the move
+     */
+    public SplittableRandom forMove(int moveNumber) {
+        return new SplittableRandom(mix(seed ^ mix(moveNumber + 1L)));
+    }
+
+    /**
+     * Spreads bits of the value, so near move numbers give
+     * unrelated generators.
+     */
+    private static long mix(long value) {
+        value = (value ^ (value >>> 30)) * 0xBF58476D1CE4E5B9L;
+        value = (value ^ (value >>> 27)) * 0x94D049BB133111EBL;
+        return value ^ (value >>> 31);
+    }
+}
@@ -0,0 +1,139 @@
+package com.wordmaster.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Result of one finished game kept by the statistics store.
+ *
+ * @author Mike
+ * @version 1.0
+ */
+public class GameRecord {
+    private final long date;
+    private final long duration;
+    private final String startWord;
+    private final List<PlayerResult> results;
+
+    /**
+     * Creates game record.
+     *
+     * @param date      time the game was finished, in milliseconds
+     * @param duration  game duration in milliseconds
+     * @param startWord the base word
+     * @param results   results of players in the turn order
+     */
+    public GameRecord(long date, long duration, String startWord, List<PlayerResult> results) {
+        this.date = date;
+        this.duration = duration;
+        this.startWord = startWord;
+        this.results = Collections.unmodifiableList(new ArrayList<>(results));
+    }
+
+    /**
+     * Creates record of the finished game.
+     *
+     * @param model     finished game model
+     * @param duration  game duration in milliseconds
+     * @return game record
+     */
+    public static GameRecord of(GameModel model, long duration) {
+        List<PlayerResult> results = new ArrayList<>();
+        List<Player> winners = model.getWinners();
+        for (Player player : model.getPlayers()) {
+            ComputerPlayer.Difficulty difficulty = player.isComputer()
+                    ? ((ComputerPlayer) player).getDifficulty() : null;
+            List<String> words;
+            synchronized (player.getWords()) {
+                words = new ArrayList<>(player.getWords());
+            }
+            results.add(new PlayerResult(player.getName(), difficulty, player.getScore(),
+                    words, winners.contains(player)));
+        }
+        return new GameRecord(System.currentTimeMillis(), duration,
+                model.getGameField().getStartWord(), results);
+    }
+
+    public long getDate() {
+        return date;
+    }
+
+    public long getDuration() {
+        return duration;
+    }
+
+    public String getStartWord() {
+        return startWord;
+    }
+
+    public List<PlayerResult> getResults() {
+        return results;
+    }
+
+    /**
+     * Result of one player in the game.
+     */
+    public static class PlayerResult {
+        private final String name;
+        private final ComputerPlayer.Difficulty difficulty;
+        private final int score;
+        private final List<String> words;
+        private final boolean winner;
+
+        /**
+         * Creates player result.
+         *
+         * @param name          player name
+         * @param difficulty    computer player difficulty or null for human
+         * @param score         player score
+         * @param words         player words
+         * @param winner        true if player is one of the winners
+         */
+        public PlayerResult(String name, ComputerPlayer.Difficulty difficulty, int score,
+                            List<String> words, boolean winner) {
+            this.name = name;
+            this.difficulty = difficulty;
+            this.score = score;
+            this.words = Collections.unmodifiableList(new ArrayList<>(words));
+            this.winner = winner;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public boolean isComputer() {
+            return difficulty != null;
+        }
+
+        public ComputerPlayer.Difficulty getDifficulty() {
+            return difficulty;
+        }
+
+        public int getScore() {
+            return score;
+        }
+
+        public List<String> getWords() {
+            return words;
+        }
+
+        public boolean isWinner() {
+            return winner;
+        }
+
+        /**
+         * Getter for the total length of player words
+         *
+         * @return number of letters in player words
+         */
+        public int getLettersCount() {
+            int lettersCount = 0;
+            for (String word : words) {
+                lettersCount += word.length();
+            }
+            return lettersCount;
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.wordmaster.model;
+
+import java.util.List;
+
+/**
+ * Callback to receive hints while they are calculated.
+ *
+ * @author Mike
+ * @version 1.0
+ */
+public interface HintCallback {
+    /**
+     * Will be called each time the best moves found so far are changed
+     * and once after the hint calculation ends. Called from the hint
+     * thread.
+     *
+     * @param hints         best moves found so far, the best one first
+     * @param isComplete    true if calculation is finished or stopped by
+     *                      the time budget, no more calls will follow
+     */
+    void onHints(List<Move> hints, boolean isComplete);
+}
@@ -0,0 +1,131 @@
+package com.wordmaster.model;
+
+import com.wordmaster.model.algorithm.Algorithm;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * Calculates hints for the human player. Works on the game field copy
+ * in the low priority background thread, so it never blocks the model.
+ * Keeps the best moves ranked by word length and streams them to
+ * the callback as they are found, changed hints are sent at most once
+ * per update interval. Calculation is stopped by the time budget or
+ * by cancelling.
+ *
+ * @author Mike
+ * @version 1.0
+ */
+public class HintEngine {
+    private static final Logger logger = LoggerFactory.getLogger(HintEngine.class);
+    private static final long UPDATE_INTERVAL = 100;
+    private static final Comparator<Move> RANK_ORDER = Comparator.comparingInt(Move::getResultWordSize);
+
+    private final Algorithm algorithm;
+    private final GameField gameField;
+    private final Set<String> usedWords;
+    private final int limit;
+    private final long budget;
+    private volatile boolean cancelled = false;
+    private volatile boolean done = false;
+
+    /**
+     * Creates hint engine over the game field copy.
+     *
+     * @param algorithm     model algorithm, its vocabulary trees are shared
+     * @param gameField     game field copy, must not be changed
+     * @param usedWords     words which cannot be used in moves
+     * @param limit         number of the best moves to keep
+     * @param budget        calculation time budget in milliseconds
+     */
+    HintEngine(Algorithm algorithm, GameField gameField, Collection<String> usedWords,
+               int limit, long budget) {
+        this.algorithm = algorithm.forField(gameField);
+        this.gameField = gameField;
+        this.usedWords = new HashSet<>(usedWords);
+        this.limit = limit;
+        this.budget = budget;
+    }
+
+    /**
+     * Starts hint calculation in the background.
+     *
+     * @param callback callback to stream hints to
+     */
+    void start(HintCallback callback) {
+        Thread hintThread = new Thread(() -> calculate(callback));
+        hintThread.setName("hintThread");
+        hintThread.setDaemon(true);
+        hintThread.setPriority(Thread.MIN_PRIORITY);
+        hintThread.start();
+    }
+
+    /**
+     * Stops hint calculation. Callback is not called after cancelling.
+     */
+    public void cancel() {
+        cancelled = true;
+    }
+
+    /**
+     * Checks if hint calculation is finished or cancelled.
+     *
+     * @return true if no more hints will come
+     */
+    public boolean isDone() {
+        return done || cancelled;
+    }
+
+    private void calculate(HintCallback callback) {
+        long deadline = System.currentTimeMillis() + budget;
+        PriorityQueue<Move> bestMoves = new PriorityQueue<>(limit + 1, RANK_ORDER);
+        Set<String> foundWords = new HashSet<>();
+        boolean[] changed = {false};
+        long[] lastUpdate = {System.currentTimeMillis()};
+
+        algorithm.generateMoves((Move move) -> {
+            if (bestMoves.size() == limit
+                    && RANK_ORDER.compare(move, bestMoves.peek()) <= 0) {
+                return;
+            }
+            String word = move.getResultWordAsString(gameField);
+            if (usedWords.contains(word) || !foundWords.add(word)) return;
+            bestMoves.add(move);
+            if (bestMoves.size() > limit) {
+                bestMoves.poll();
+            }
+            changed[0] = true;
+        }, () -> {
+            if (cancelled) return true;
+            // intermediate hints are sent only if they changed since the last update
+            long now = System.currentTimeMillis();
+            if (changed[0] && now - lastUpdate[0] >= UPDATE_INTERVAL) {
+                callback.onHints(rank(bestMoves), false);
+                changed[0] = false;
+                lastUpdate[0] = now;
+            }
+            return now > deadline;
+        });
+
+        done = true;
+        if (cancelled) {
+            logger.trace("Hint calculation cancelled");
+            return;
+        }
+        logger.debug("Hint calculation finished, {} hints found", bestMoves.size());
+        callback.onHints(rank(bestMoves), true);
+    }
+
+    private static List<Move> rank(PriorityQueue<Move> bestMoves) {
+        List<Move> hints = new ArrayList<>(bestMoves);
+        hints.sort(RANK_ORDER.reversed());
+        return hints;
+    }
+}
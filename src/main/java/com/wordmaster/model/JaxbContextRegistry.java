@@ -0,0 +1,150 @@
+package com.wordmaster.model;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.xml.bind.JAXBContext;
+import javax.xml.bind.JAXBException;
+import javax.xml.bind.Marshaller;
+import javax.xml.bind.Unmarshaller;
+import java.io.File;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+
+/**
+ * Keeps JAXB contexts, which are very expensive to create. Context
+ * is created lazily once per set of bound classes and then shared.
+ * Marshallers and unmarshallers are not thread safe, so they are
+ * pooled per context and reused by the callers.
+ *
+ * @author Mike
+ * @version 1.0
+ */
+public final class JaxbContextRegistry {
+    private static final Logger logger = LoggerFactory.getLogger(JaxbContextRegistry.class);
+    private static final Map<List<Class<?>>, Future<PooledContext>> contexts = new ConcurrentHashMap<>();
+
+    private JaxbContextRegistry() {
+
+    }
+
+    /**
+     * Returns the context for the specified bound classes, creates
+     * it if there is no such context yet.
+     *
+     * @param boundClasses classes to be recognized by the context
+     * @return shared JAXB context
+     * @throws JAXBException if context cannot be created
+     */
+    public static JAXBContext getContext(Class<?>... boundClasses) throws JAXBException {
+        return getPooledContext(boundClasses).context;
+    }
+
+    /**
+     * Marshals object to the file with formatted output.
+     *
+     * @param object        object to marshal
+     * @param file          file to write
+     * @param boundClasses  classes to be recognized by the context
+     * @throws JAXBException if any marshalling error occurs
+     */
+    public static void marshal(Object object, File file, Class<?>... boundClasses) throws JAXBException {
+        PooledContext pooledContext = getPooledContext(boundClasses);
+        Marshaller marshaller = pooledContext.marshallers.poll();
+        if (marshaller == null) {
+            marshaller = pooledContext.createMarshaller();
+        }
+        marshaller.marshal(object, file);
+        pooledContext.marshallers.offer(marshaller);
+    }
+
+    /**
+     * Unmarshals object from the file.
+     *
+     * @param file          file to read
+     * @param boundClasses  classes to be recognized by the context
+     * @return unmarshalled object
+     * @throws JAXBException if any unmarshalling error occurs
+     */
+    public static Object unmarshal(File file, Class<?>... boundClasses) throws JAXBException {
+        PooledContext pooledContext = getPooledContext(boundClasses);
+        Unmarshaller unmarshaller = pooledContext.unmarshallers.poll();
+        if (unmarshaller == null) {
+            unmarshaller = pooledContext.context.createUnmarshaller();
+        }
+        Object result = unmarshaller.unmarshal(file);
+        pooledContext.unmarshallers.offer(unmarshaller);
+        return result;
+    }
+
+    /**
+     * Creates the context for the specified bound classes in the
+     * background, so the first save or load does not pay for it.
+     *
+     * @param boundClasses classes to be recognized by the context
+     */
+    public static void warmUp(Class<?>... boundClasses) {
+        Thread warmUpThread = new Thread(() -> {
+            try {
+                PooledContext pooledContext = getPooledContext(boundClasses);
+                pooledContext.marshallers.offer(pooledContext.createMarshaller());
+                pooledContext.unmarshallers.offer(pooledContext.context.createUnmarshaller());
+                logger.debug("JAXB context warmed up for {}", Arrays.toString(boundClasses));
+            } catch (JAXBException e) {
+                logger.warn("Cannot warm up JAXB context", e);
+            }
+        });
+        warmUpThread.setName("jaxbWarmUpThread");
+        warmUpThread.setDaemon(true);
+        warmUpThread.start();
+    }
+
+    private static PooledContext getPooledContext(Class<?>[] boundClasses) throws JAXBException {
+        List<Class<?>> key = Arrays.asList(boundClasses.clone());
+        FutureTask<PooledContext> creatingTask = new FutureTask<>(() ->
+                new PooledContext(JAXBContext.newInstance(boundClasses)));
+        Future<PooledContext> pooledContext = contexts.putIfAbsent(key, creatingTask);
+        if (pooledContext == null) {
+            pooledContext = creatingTask;
+            creatingTask.run();
+        }
+        try {
+            return pooledContext.get();
+        } catch (ExecutionException e) {
+            contexts.remove(key, pooledContext);
+            if (e.getCause() instanceof JAXBException) {
+                throw (JAXBException) e.getCause();
+            }
+            throw new JAXBException("Cannot create JAXB context", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new JAXBException("Interrupted during JAXB context creation", e);
+        }
+    }
+
+    /**
+     * Context with its own marshaller and unmarshaller pools.
+     */
+    private static class PooledContext {
+        private final JAXBContext context;
+        private final Queue<Marshaller> marshallers = new ConcurrentLinkedQueue<>();
+        private final Queue<Unmarshaller> unmarshallers = new ConcurrentLinkedQueue<>();
+
+        PooledContext(JAXBContext context) {
+            this.context = context;
+        }
+
+        Marshaller createMarshaller() throws JAXBException {
+            Marshaller marshaller = context.createMarshaller();
+            marshaller.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT, Boolean.TRUE);
+            return marshaller;
+        }
+    }
+}
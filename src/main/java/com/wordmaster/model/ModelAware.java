@@ -2,8 +2,8 @@ package com.wordmaster.model;
 
 /**
  * Interface for all classes, that wants to be notified
- * on any model state change. All notifications will be
- * executed in single separated thread.
+ * on any model state change. All notifications of one
+ * listener will be executed in its own separated thread.
  */
 public interface ModelAware {
     /**
@@ -13,6 +13,17 @@ public interface ModelAware {
      */
     void onMove(GameModel model);
 
+    /**
+     * Will be called after each model move with the changes made
+     * by it. Calls <code>onMove(model)</code> by default.
+     *
+     * @param model     changed model object
+     * @param changes   changes made by the move
+     */
+    default void onMove(GameModel model, ModelChanges changes) {
+        onMove(model);
+    }
+
     /**
      * Will be called after game will be finished.
      *
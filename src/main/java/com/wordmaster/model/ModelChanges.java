@@ -0,0 +1,175 @@
+package com.wordmaster.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Changes made to model by one model operation: changed cells, added
+ * and removed player words, scores, current player and current move.
+ * Values are captured at the end of operation, so they stay valid
+ * even if model goes further before listeners handle them.
+ *
+ * @author Mike
+ * @version 1.0
+ */
+public class ModelChanges {
+    private final char[][] fieldBefore;
+    private final int[] wordsCountBefore;
+
+    private final List<CellChange> changedCells = new ArrayList<>();
+    private final List<List<String>> addedWords = new ArrayList<>();
+    private int[] removedWordsCount;
+    private int[] scores;
+    private int currentMove;
+    private int currentPlayer;
+    private int operationNumber;
+
+    /**
+     * Captures the model state before operation.
+     *
+     * @param field     model field
+     * @param players   model players
+     */
+    ModelChanges(GameField field, List<Player> players) {
+        fieldBefore = field.copyCells();
+        wordsCountBefore = new int[players.size()];
+        for (int i = 0; i < players.size(); i++) {
+            wordsCountBefore[i] = players.get(i).getWords().size();
+        }
+    }
+
+    /**
+     * Compares the model state after operation with the captured one.
+     * Operation can only append words to player or remove the last ones.
+     *
+     * @param field           model field
+     * @param players         model players
+     * @param currentMove     model current move
+     * @param currentPlayer   model current player number
+     * @param operationNumber sequential number of the operation
+     */
+    void complete(GameField field, List<Player> players, int currentMove,
+                  int currentPlayer, int operationNumber) {
+        for (int y = 0; y < GameField.FIELD_HEIGHT; y++) {
+            for (int x = 0; x < GameField.FIELD_WIDTH; x++) {
+                char value = field.getCell(x, y).getValue();
+                if (value != fieldBefore[y][x]) {
+                    changedCells.add(new CellChange(x, y, value));
+                }
+            }
+        }
+        removedWordsCount = new int[players.size()];
+        scores = new int[players.size()];
+        for (int i = 0; i < players.size(); i++) {
+            Player player = players.get(i);
+            List<String> words = player.getWords();
+            synchronized (words) {
+                int wordsCount = words.size();
+                if (wordsCount >= wordsCountBefore[i]) {
+                    addedWords.add(new ArrayList<>(words.subList(wordsCountBefore[i], wordsCount)));
+                } else {
+                    addedWords.add(Collections.emptyList());
+                    removedWordsCount[i] = wordsCountBefore[i] - wordsCount;
+                }
+            }
+            scores[i] = player.getScore();
+        }
+        this.currentMove = currentMove;
+        this.currentPlayer = currentPlayer;
+        this.operationNumber = operationNumber;
+    }
+
+    /**
+     * Getter for the changed cells
+     *
+     * @return cells which values were changed
+     */
+    public List<CellChange> getChangedCells() {
+        return changedCells;
+    }
+
+    /**
+     * Getter for the words added to player
+     *
+     * @param playerIndex player turn order number
+     * @return words appended to the end of player words
+     */
+    public List<String> getAddedWords(int playerIndex) {
+        return addedWords.get(playerIndex);
+    }
+
+    /**
+     * Getter for the number of words removed from player
+     *
+     * @param playerIndex player turn order number
+     * @return number of words removed from the end of player words
+     */
+    public int getRemovedWordsCount(int playerIndex) {
+        return removedWordsCount[playerIndex];
+    }
+
+    /**
+     * Getter for the player score after operation
+     *
+     * @param playerIndex player turn order number
+     * @return player score
+     */
+    public int getScore(int playerIndex) {
+        return scores[playerIndex];
+    }
+
+    /**
+     * Getter for the current move after operation
+     *
+     * @return current move number
+     */
+    public int getCurrentMove() {
+        return currentMove;
+    }
+
+    /**
+     * Getter for the current player after operation
+     *
+     * @return current player turn order number
+     */
+    public int getCurrentPlayer() {
+        return currentPlayer;
+    }
+
+    /**
+     * Getter for the sequential number of the operation
+     *
+     * @return operation number, see <code>GameModel.getOperationsCount()</code>
+     */
+    public int getOperationNumber() {
+        return operationNumber;
+    }
+
+    /**
+     * New value of one game field cell.
+     */
+    public static class CellChange {
+        private final int x;
+        private final int y;
+        private final char value;
+
+        CellChange(int x, int y, char value) {
+            this.x = x;
+            this.y = y;
+            this.value = value;
+        }
+
+        public int getX() {
+            return x;
+        }
+
+        public int getY() {
+            return y;
+        }
+
+        public char getValue() {
+            return value;
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.wordmaster.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Delivers model events to the listeners asynchronously. Each listener
+ * has its own notification lane, so events come to a listener in
+ * order, but a slow listener does not delay the others.
+ *
+ * @author Mike
+ * @version 1.0
+ */
+class ModelListenerDispatcher {
+    private final Map<ModelAware, NotificationThread> lanes =
+            Collections.synchronizedMap(new IdentityHashMap<>());
+    private boolean killFlag = false;
+
+    /**
+     * Subscribes listener and starts its notification lane. Listeners
+     * are not subscribed after the dispatcher death.
+     *
+     * @param listener listener to subscribe
+     */
+    void addListener(ModelAware listener) {
+        synchronized (lanes) {
+            if (killFlag || lanes.containsKey(listener)) return;
+            NotificationThread lane = new NotificationThread(
+                    "NotificationThread-" + listener.getClass().getSimpleName());
+            lane.start();
+            lanes.put(listener, lane);
+        }
+    }
+
+    /**
+     * Unsubscribes listener. Its lane dies after delivering
+     * already queued events.
+     *
+     * @param listener listener to unsubscribe
+     */
+    void removeListener(ModelAware listener) {
+        NotificationThread lane = lanes.remove(listener);
+        if (lane != null) {
+            lane.raiseDeath();
+        }
+    }
+
+    /**
+     * Queues event to the lanes of all the listeners.
+     *
+     * @param notification event delivery to one listener
+     */
+    void dispatch(Consumer<ModelAware> notification) {
+        List<Map.Entry<ModelAware, NotificationThread>> entries;
+        synchronized (lanes) {
+            entries = new ArrayList<>(lanes.entrySet());
+        }
+        for (Map.Entry<ModelAware, NotificationThread> entry : entries) {
+            ModelAware listener = entry.getKey();
+            entry.getValue().addTask(() -> notification.accept(listener));
+        }
+    }
+
+    /**
+     * Queues task to the lane of the specified listener.
+     *
+     * @param listener  subscribed listener
+     * @param task      task to execute
+     */
+    void dispatch(ModelAware listener, Runnable task) {
+        NotificationThread lane = lanes.get(listener);
+        if (lane != null) {
+            lane.addTask(task);
+        }
+    }
+
+    /**
+     * Kills all the lanes after delivering already queued events.
+     */
+    void raiseDeath() {
+        synchronized (lanes) {
+            killFlag = true;
+            lanes.values().forEach(NotificationThread::raiseDeath);
+        }
+    }
+}
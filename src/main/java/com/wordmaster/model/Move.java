@@ -23,6 +23,7 @@ public class Move {
     private char prevCellValue = GameField.EMPTY_CELL_VALUE;
     @XmlElement
     private int[][] resultWord;
+    private int wordId = -1;
 
     public static final int ALREADY_USED = 1;
     public static final int INVALID_WORD = 2;
@@ -103,6 +104,73 @@ public class Move {
         this.prevCellValue = cell.getValue();
     }
 
+    /**
+     * Setter for cell, affected by the move. Previous cell
+     * value stays unchanged.
+     *
+     * @param x cell x position
+     * @param y cell y position
+     */
+    void setCell(int x, int y) {
+        this.cellX = x;
+        this.cellY = y;
+    }
+
+    /**
+     * Getter for affected cell x position
+     *
+     * @return cell x position
+     */
+    int getCellX() {
+        return cellX;
+    }
+
+    /**
+     * Getter for affected cell y position
+     *
+     * @return cell y position
+     */
+    int getCellY() {
+        return cellY;
+    }
+
+    /**
+     * Getter for the raw result word cells
+     *
+     * @return array of {x, y} result word cells
+     */
+    int[][] getResultWordCells() {
+        return resultWord;
+    }
+
+    /**
+     * Setter for the raw result word cells
+     *
+     * @param resultWord array of {x, y} result word cells
+     */
+    void setResultWordCells(int[][] resultWord) {
+        this.resultWord = resultWord;
+    }
+
+    /**
+     * Getter for the vocabulary id of the result word. Id is known
+     * only for the generated moves, it is not saved.
+     *
+     * @return word id or -1 if it is unknown
+     */
+    public int getWordId() {
+        return wordId;
+    }
+
+    /**
+     * Setter for the vocabulary id of the result word
+     *
+     * @param wordId word id
+     */
+    public void setWordId(int wordId) {
+        this.wordId = wordId;
+    }
+
     /**
      * Getter for result word size
      *
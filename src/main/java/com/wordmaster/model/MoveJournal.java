@@ -0,0 +1,346 @@
+package com.wordmaster.model;
+
+import com.wordmaster.model.exception.ModelInitializeException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+
+/**
+ * Append-only journal of the game operations, which allows to recover
+ * the game after crash. Operations are queued by the model thread
+ * and written by the separate journal thread. All the operations queued
+ * at the moment are written together and synced to disk with one fsync.
+ * <p>
+ * Layout: magic, version, start word, players, seed, start time, then
+ * records of move, undo and redo operations. Version 1 journals have no
+ * seed, version 1-3 journals have no start time.
+ * Version 1 and 2 moves have previous cell value, see <code>BinaryGameFormat</code>.
+ *
+ * @author Mike
+ * @version 1.0
+ */
+class MoveJournal {
+    private static final Logger logger = LoggerFactory.getLogger(MoveJournal.class);
+    static final byte[] MAGIC = {'W', 'M', 'G', 'J'};
+    static final int VERSION = 4;
+    static final String DEFAULT_JOURNAL_DIRECTORY = "journal";
+    static final String JOURNAL_EXTENSION = ".wmj";
+
+    private static final int RECORD_MOVE = 1;
+    private static final int RECORD_UNDO = 2;
+    private static final int RECORD_REDO = 3;
+
+    private final File file;
+    private final File replacedFile;
+    private final BlockingQueue<Record> recordQueue = new LinkedBlockingQueue<>();
+    private volatile boolean closed = false;
+
+    private MoveJournal(File file, File replacedFile) {
+        this.file = file;
+        this.replacedFile = replacedFile;
+    }
+
+    /**
+     * Creates journal for the model in the default journal directory and
+     * starts journal thread. Already applied and undone model moves are
+     * written first, so the journal describes the whole model state.
+     *
+     * @param model model to journal
+     * @return started journal or null if journal directory is not available
+     */
+    static MoveJournal start(GameModel model) {
+        return start(model, null);
+    }
+
+    /**
+     * Creates journal for the model and starts journal thread. Replaced
+     * journal is deleted only after the model state is synced to disk
+     * by the new journal, so the game survives crash in between.
+     *
+     * @param model         model to journal
+     * @param replacedFile  journal the model was recovered from, may be null
+     * @return started journal or null if journal file cannot be created
+     */
+    static MoveJournal start(GameModel model, File replacedFile) {
+        File directory = new File(DEFAULT_JOURNAL_DIRECTORY);
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            logger.warn("Cannot create journal directory {}, game will not be journaled",
+                    directory.getAbsolutePath());
+            return null;
+        }
+        File file;
+        try {
+            file = File.createTempFile("game-", JOURNAL_EXTENSION, directory);
+        } catch (IOException e) {
+            logger.warn("Cannot create journal file, game will not be journaled", e);
+            return null;
+        }
+        MoveJournal journal = new MoveJournal(file, replacedFile);
+        List<Player> players = new ArrayList<>(model.getPlayers());
+        String startWord = model.getGameField().getStartWord();
+        List<Move> moves = new ArrayList<>(model.getMoves());
+        int currentMove = model.getCurrentMove();
+        long seed = model.getSeed();
+        long startTime = model.getStartTime();
+
+        // the first batch describes the whole model state
+        moves.forEach(journal::appendMove);
+        if (moves.size() > currentMove) {
+            journal.appendUndo(moves.size() - currentMove);
+        }
+
+        Thread journalThread = new Thread(() -> journal.writeLoop(startWord, players, seed, startTime));
+        journalThread.setName("journalThread");
+        journalThread.start();
+        return journal;
+    }
+
+    /**
+     * Queues applied move record.
+     *
+     * @param move applied move
+     */
+    void appendMove(Move move) {
+        append(new Record(RECORD_MOVE, move, 0));
+    }
+
+    /**
+     * Queues undo record.
+     *
+     * @param times number of undone moves
+     */
+    void appendUndo(int times) {
+        append(new Record(RECORD_UNDO, null, times));
+    }
+
+    /**
+     * Queues redo record.
+     *
+     * @param times number of redone moves
+     */
+    void appendRedo(int times) {
+        append(new Record(RECORD_REDO, null, times));
+    }
+
+    /**
+     * Closes the journal after writing all the queued records.
+     *
+     * @param delete true if journal file is no longer needed
+     */
+    void close(boolean delete) {
+        append(new Record(0, null, delete ? 1 : 0));
+        closed = true;
+    }
+
+    /**
+     * Checks if stream starts with journal magic. Stream must
+     * support mark, its position stays unchanged.
+     *
+     * @param is stream to check
+     * @return true if stream contains journal
+     * @throws IOException if any reading error occurs
+     */
+    static boolean isJournal(InputStream is) throws IOException {
+        return BinaryGameFormat.startsWith(is, MAGIC);
+    }
+
+    /**
+     * Checks if file is a game journal.
+     *
+     * @param file file to check
+     * @return true if file contains journal
+     * @throws IOException if any reading error occurs
+     */
+    static boolean isJournal(File file) throws IOException {
+        try (InputStream is = new BufferedInputStream(new FileInputStream(file))) {
+            return isJournal(is);
+        }
+    }
+
+    /**
+     * Restores not initialized model by replaying the journal records.
+     * Torn record or garbage at the end of journal is ignored.
+     *
+     * @param is stream to read from
+     * @return restored model
+     * @throws IOException if journal header cannot be read or records are corrupted
+     */
+    static GameModel read(InputStream is) throws IOException {
+        for (byte b : MAGIC) {
+            if (BinaryGameFormat.readByte(is) != b) {
+                throw new IOException("Not a game journal");
+            }
+        }
+        int version = BinaryGameFormat.readVarint(is);
+        if (version < 1 || version > VERSION) {
+            throw new IOException("Unsupported game journal version " + version);
+        }
+        String startWord = BinaryGameFormat.readString(is);
+        int playersCount = BinaryGameFormat.readCount(is);
+        if (playersCount == 0) {
+            throw new IOException("Game journal without players");
+        }
+        List<Player> players = new ArrayList<>();
+        for (int i = 0; i < playersCount; i++) {
+            players.add(BinaryGameFormat.readPlayer(is));
+        }
+        long seed = version > 1 ? BinaryGameFormat.readLong(is) : GameRandom.newSeed();
+        long startTime = version >= BinaryGameFormat.FIRST_VERSION_WITH_START_TIME
+                ? BinaryGameFormat.readLong(is) : System.currentTimeMillis();
+
+        boolean hasPrevCellValue = version < BinaryGameFormat.FIRST_VERSION_WITHOUT_PREV_CELL_VALUE;
+        List<Move> moves = new ArrayList<>();
+        int currentMove = 0;
+        try {
+            int recordType = is.read();
+            replay:
+            while (recordType >= 0) {
+                int previousMove = currentMove;
+                switch (recordType) {
+                    case RECORD_MOVE: {
+                        Move move = BinaryGameFormat.readMove(is, hasPrevCellValue);
+                        moves.subList(currentMove, moves.size()).clear();
+                        moves.add(move);
+                        currentMove++;
+                        break;
+                    }
+                    case RECORD_UNDO: {
+                        currentMove -= BinaryGameFormat.readVarint(is);
+                        break;
+                    }
+                    case RECORD_REDO: {
+                        currentMove += BinaryGameFormat.readVarint(is);
+                        break;
+                    }
+                    default: {
+                        logger.warn("Game journal ends with unknown record {}, the rest is skipped",
+                                recordType);
+                        break replay;
+                    }
+                }
+                if (currentMove < 0 || currentMove > moves.size()) {
+                    logger.warn("Game journal ends with record out of moves, the rest is skipped");
+                    currentMove = previousMove;
+                    break replay;
+                }
+                recordType = is.read();
+            }
+        } catch (EOFException e) {
+            logger.warn("Game journal ends with torn record, it is skipped");
+        }
+        try {
+            return GameModel.restore(players, startWord, moves, currentMove, seed, startTime);
+        } catch (ModelInitializeException e) {
+            throw new IOException("Corrupted game journal", e);
+        }
+    }
+
+    private void append(Record record) {
+        if (closed) return;
+        recordQueue.add(record);
+    }
+
+    /**
+     * Journal thread body. Takes all the queued records at once, writes
+     * them and syncs the file. Replaced journal is deleted after the
+     * first sync.
+     */
+    private void writeLoop(String startWord, List<Player> players, long seed, long startTime) {
+        Record closeRecord = null;
+        try (FileOutputStream fos = new FileOutputStream(file)) {
+            OutputStream os = new BufferedOutputStream(fos);
+            os.write(MAGIC);
+            BinaryGameFormat.writeVarint(os, VERSION);
+            BinaryGameFormat.writeString(os, startWord);
+            BinaryGameFormat.writeVarint(os, players.size());
+            for (Player player : players) {
+                BinaryGameFormat.writePlayer(os, player);
+            }
+            BinaryGameFormat.writeLong(os, seed);
+            BinaryGameFormat.writeLong(os, startTime);
+
+            List<Record> batch = new ArrayList<>();
+            recordQueue.drainTo(batch);
+            boolean isFirstBatch = true;
+            while (closeRecord == null) {
+                for (Record record : batch) {
+                    if (record.type == 0) {
+                        closeRecord = record;
+                        break;
+                    }
+                    record.write(os);
+                }
+                os.flush();
+                fos.getChannel().force(false);
+                if (isFirstBatch) {
+                    deleteReplacedFile();
+                    isFirstBatch = false;
+                }
+                batch.clear();
+                if (closeRecord == null) {
+                    batch.add(recordQueue.take());
+                    recordQueue.drainTo(batch);
+                }
+            }
+        } catch (IOException e) {
+            logger.error("Cannot write game journal {}", file.getName(), e);
+        } catch (InterruptedException e) {
+            logger.error("Journal thread was suddenly interrupted", e);
+        }
+        if (closeRecord == null) {
+            closed = true;
+            recordQueue.clear();
+            return;
+        }
+        if (closeRecord.times > 0 && !file.delete()) {
+            logger.warn("Cannot delete game journal {}", file.getName());
+        }
+        logger.debug("Game journal {} closed", file.getName());
+    }
+
+    /**
+     * Deletes the journal the model was recovered from, if any.
+     */
+    private void deleteReplacedFile() {
+        if (replacedFile != null && !replacedFile.delete()) {
+            logger.warn("Cannot delete recovered game journal {}", replacedFile.getName());
+        }
+    }
+
+    /**
+     * One journal record.
+     */
+    private static class Record {
+        private final int type;
+        private final Move move;
+        private final int times;
+
+        Record(int type, Move move, int times) {
+            this.type = type;
+            this.move = move;
+            this.times = times;
+        }
+
+        void write(OutputStream os) throws IOException {
+            os.write(type);
+            if (type == RECORD_MOVE) {
+                BinaryGameFormat.writeMove(os, move);
+            } else {
+                BinaryGameFormat.writeVarint(os, times);
+            }
+        }
+    }
+}
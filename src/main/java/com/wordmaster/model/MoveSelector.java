@@ -0,0 +1,93 @@
+package com.wordmaster.model;
+
+import com.wordmaster.model.algorithm.MoveGeneratedCallback;
+
+import java.util.SplittableRandom;
+import java.util.function.Predicate;
+
+/**
+ * Selects one move from the moves streamed by the generator, without
+ * keeping them all. Each move is accepted or rejected by the policy,
+ * one of the accepted moves is kept by the reservoir sampling, so every
+ * accepted move has the same chance to be selected. If no move is
+ * accepted, one of the rejected moves is selected the same way.
+ * <p>
+ * Selector is done after the specified number of accepted moves, so
+ * generation can be stopped early.
+ *
+ * @author Mike
+ * @version 1.0
+ */
+class MoveSelector implements MoveGeneratedCallback {
+    private final Predicate<Move> policy;
+    private final int acceptedToStop;
+    private final SplittableRandom random;
+
+    private Move acceptedMove;
+    private Move rejectedMove;
+    private int acceptedCount;
+    private int rejectedCount;
+
+    /**
+     * Creates selector.
+     *
+     * @param policy          decides if move is accepted, may be random
+     * @param acceptedToStop  number of accepted moves after which selector is done
+     * @param random          generator for the reservoir, may be null if
+     *                        <code>acceptedToStop</code> is 1 and policy accepts all moves
+     */
+    MoveSelector(Predicate<Move> policy, int acceptedToStop, SplittableRandom random) {
+        this.policy = policy;
+        this.acceptedToStop = acceptedToStop;
+        this.random = random;
+    }
+
+    /**
+     * Creates selector, which selects the first generated move.
+     *
+     * @return selector of the first move
+     */
+    static MoveSelector first() {
+        return new MoveSelector((Move move) -> true, 1, null);
+    }
+
+    /**
+     * Offers generated move to the selector. Moves offered after
+     * the selector is done are ignored.
+     *
+     * @param move generated move
+     */
+    @Override
+    public void onMove(Move move) {
+        if (isDone()) return;
+        if (policy.test(move)) {
+            acceptedCount++;
+            if (acceptedCount == 1 || random.nextInt(acceptedCount) == 0) {
+                acceptedMove = move;
+            }
+        } else if (acceptedCount == 0) {
+            rejectedCount++;
+            if (rejectedCount == 1 || random.nextInt(rejectedCount) == 0) {
+                rejectedMove = move;
+            }
+        }
+    }
+
+    /**
+     * Checks if enough moves are accepted and generation can be stopped.
+     *
+     * @return true if selector will not take more moves
+     */
+    boolean isDone() {
+        return acceptedCount >= acceptedToStop;
+    }
+
+    /**
+     * Getter for the selected move
+     *
+     * @return selected move or null if no moves were offered
+     */
+    Move getSelectedMove() {
+        return acceptedMove != null ? acceptedMove : rejectedMove;
+    }
+}
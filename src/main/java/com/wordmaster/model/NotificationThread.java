@@ -8,7 +8,8 @@ import java.util.concurrent.ConcurrentLinkedDeque;
 
 /**
  * Container for tasks, that executes sequential. It is used
- * by the model to notify <code>ModelAware</> implementations.
+ * by the model as the notification lane of one
+ * <code>ModelAware</code> implementation.
  *
  * @version 1.0
  * @author Mike
@@ -22,12 +23,21 @@ class NotificationThread extends Thread {
         setName("NotificationThread");
     }
 
+    public NotificationThread(String name) {
+        setName(name);
+    }
+
     @Override
     public void run() {
         while(true) {
+            Runnable task;
             try {
-                while(notificationTaskQueue.size() == 0 && !killFlag) {
-                    synchronized (this) {
+                synchronized (this) {
+                    while ((task = notificationTaskQueue.pollFirst()) == null) {
+                        if (killFlag) {
+                            logger.debug("Notification thread death");
+                            return;
+                        }
                         wait();
                     }
                 }
@@ -35,10 +45,10 @@ class NotificationThread extends Thread {
                 logger.error("Notification thread waiting was suddenly interrupted", e);
                 return;
             }
-            notificationTaskQueue.pollFirst().run();
-            if (killFlag && notificationTaskQueue.size() == 0) {
-                logger.debug("Notification thread death");
-                return;
+            try {
+                task.run();
+            } catch (RuntimeException e) {
+                logger.error("Notification task failed", e);
             }
         }
     }
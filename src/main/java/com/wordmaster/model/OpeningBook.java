@@ -0,0 +1,194 @@
+package com.wordmaster.model;
+
+import com.wordmaster.gui.i18n.LanguagePack;
+import com.wordmaster.model.algorithm.Vocabulary;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Precomputed evaluation of the start words: number of legal first
+ * moves and estimated game length. Allows to pick the start word by
+ * the desired game difficulty, the less first moves, the harder game.
+ * Start words are picked among the words of one length, as short words
+ * have much less first moves than the long ones, and only among the words
+ * valid in the game vocabulary, so reloaded vocabularies and the user
+ * dictionary are respected. Books are built offline by <code>OpeningBookBuilder</code> and
+ * shipped as language resources.
+ * <p>
+ * Format: one entry per line, word, first moves and estimated length
+ * separated by tab. Lines starting with '#' are comments.
+ *
+ * @author Mike
+ * @version 1.0
+ */
+public class OpeningBook {
+    private static final Logger logger = LoggerFactory.getLogger(OpeningBook.class);
+    private static final Map<LanguagePack, OpeningBook> openingBooks = new ConcurrentHashMap<>();
+    private static final Comparator<Entry> EASY_FIRST =
+            Comparator.comparingInt(Entry::getFirstMoves)
+                    .thenComparingInt(Entry::getEstimatedLength).reversed();
+
+    private final List<Entry> entries;
+
+    OpeningBook(List<Entry> entries) {
+        List<Entry> sortedEntries = new ArrayList<>(entries);
+        sortedEntries.sort(EASY_FIRST);
+        this.entries = Collections.unmodifiableList(sortedEntries);
+    }
+
+    /**
+     * Returns the opening book of the language. Book is loaded once
+     * from the language resources.
+     *
+     * @param language book language
+     * @return opening book, empty if language has no book
+     */
+    public static OpeningBook getOpeningBook(LanguagePack language) {
+        return openingBooks.computeIfAbsent(language, OpeningBook::load);
+    }
+
+    private static OpeningBook load(LanguagePack language) {
+        InputStream is = language.getOpeningBookInputStream();
+        if (is == null) {
+            logger.debug("No opening book for {}", language.getId());
+            return new OpeningBook(Collections.emptyList());
+        }
+        try {
+            OpeningBook book = read(is);
+            logger.debug("Opening book for {} loaded, {} words", language.getId(), book.size());
+            return book;
+        } catch (IOException e) {
+            logger.warn("Cannot load opening book for {}", language.getId(), e);
+            return new OpeningBook(Collections.emptyList());
+        }
+    }
+
+    /**
+     * Reads opening book from the stream.
+     *
+     * @param is stream to read from
+     * @return read opening book
+     * @throws IOException if any reading error occurs or book is corrupted
+     */
+    static OpeningBook read(InputStream is) throws IOException {
+        List<Entry> entries = new ArrayList<>();
+        try (BufferedReader br = new BufferedReader(new InputStreamReader(is, StandardCharsets.UTF_8))) {
+            String line = br.readLine();
+            while (line != null) {
+                if (!line.isEmpty() && line.charAt(0) != '#') {
+                    String[] fields = line.split("\t");
+                    if (fields.length != 3) {
+                        throw new IOException("Corrupted opening book line: " + line);
+                    }
+                    try {
+                        entries.add(new Entry(fields[0],
+                                Integer.parseInt(fields[1]), Integer.parseInt(fields[2])));
+                    } catch (NumberFormatException e) {
+                        throw new IOException("Corrupted opening book line: " + line, e);
+                    }
+                }
+                line = br.readLine();
+            }
+        }
+        return new OpeningBook(entries);
+    }
+
+    /**
+     * Writes opening book, the easiest start words first.
+     *
+     * @param writer writer to write to
+     * @throws IOException if any writing error occurs
+     */
+    void write(Writer writer) throws IOException {
+        writer.write("# word\tfirst moves\testimated game length\n");
+        for (Entry entry : entries) {
+            writer.write(entry.word + "\t" + entry.firstMoves + "\t" + entry.estimatedLength + "\n");
+        }
+        writer.flush();
+    }
+
+    /**
+     * Picks random start word of the desired difficulty and size. Book
+     * words of the size, which are valid in the vocabulary, are divided
+     * into equal groups by the number of first moves, then by the estimated
+     * game length, one group per difficulty. The easiest words have the most
+     * first moves.
+     *
+     * @param difficulty desired game difficulty
+     * @param wordSize   size of the start word
+     * @param vocabulary vocabulary of the game
+     * @return start word or null if book has no such words
+     */
+    public String pickStartWord(ComputerPlayer.Difficulty difficulty, int wordSize, Vocabulary vocabulary) {
+        List<Entry> candidates = new ArrayList<>();
+        for (Entry entry : entries) {
+            if (entry.word.length() == wordSize && vocabulary.containsWord(entry.word)) {
+                candidates.add(entry);
+            }
+        }
+        if (candidates.isEmpty()) return null;
+        int groups = ComputerPlayer.Difficulty.values().length;
+        int from = candidates.size() * difficulty.ordinal() / groups;
+        int to = Math.max(from + 1, candidates.size() * (difficulty.ordinal() + 1) / groups);
+        return candidates.get(ThreadLocalRandom.current().nextInt(from, to)).word;
+    }
+
+    /**
+     * Getter for the book entries, the easiest start words first
+     *
+     * @return unmodifiable list of entries
+     */
+    public List<Entry> getEntries() {
+        return entries;
+    }
+
+    /**
+     * Getter for the number of book entries
+     *
+     * @return number of evaluated start words
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Evaluation of one start word.
+     */
+    public static class Entry {
+        private final String word;
+        private final int firstMoves;
+        private final int estimatedLength;
+
+        Entry(String word, int firstMoves, int estimatedLength) {
+            this.word = word;
+            this.firstMoves = firstMoves;
+            this.estimatedLength = estimatedLength;
+        }
+
+        public String getWord() {
+            return word;
+        }
+
+        public int getFirstMoves() {
+            return firstMoves;
+        }
+
+        public int getEstimatedLength() {
+            return estimatedLength;
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.wordmaster.model;
+
+import com.wordmaster.gui.i18n.Language;
+import com.wordmaster.gui.i18n.LanguagePack;
+import com.wordmaster.gui.i18n.LanguagePacks;
+import com.wordmaster.model.algorithm.Algorithm;
+import com.wordmaster.model.algorithm.Vocabulary;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Offline tool, which builds the opening book of the language. Each
+ * start word is evaluated by the number of legal first moves and by
+ * the length of the game, where both players always take the longest
+ * word. Words are evaluated in parallel on all the processor cores.
+ * <p>
+ * Usage: <code>OpeningBookBuilder LANGUAGE [output file]</code>, the
+ * book is written to the language resource path or to the language
+ * pack directory by default.
+ *
+ * @author Mike
+ * @version 1.0
+ */
+public class OpeningBookBuilder {
+    private static final Logger logger = LoggerFactory.getLogger(OpeningBookBuilder.class);
+    private static final String RESOURCES_DIRECTORY = "src/main/resources";
+    private static final int PROGRESS_STEP = 500;
+
+    private final Vocabulary vocabulary;
+    private final AtomicInteger evaluated = new AtomicInteger();
+
+    OpeningBookBuilder(Vocabulary vocabulary) {
+        this.vocabulary = vocabulary;
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException, ExecutionException {
+        if (args.length < 1) {
+            System.err.println("Usage: OpeningBookBuilder LANGUAGE [output file]");
+            System.exit(1);
+        }
+        LanguagePack language = LanguagePacks.getLanguagePack(args[0].toUpperCase());
+        if (language == null) {
+            language = LanguagePacks.getLanguagePack(args[0]);
+        }
+        if (language == null) {
+            System.err.println("Unknown language " + args[0]);
+            System.exit(1);
+        }
+        File output = args.length > 1 ? new File(args[1])
+                : language instanceof Language ? new File(RESOURCES_DIRECTORY, language.getOpeningBookPath())
+                : new File(language.getOpeningBookPath());
+
+        long started = System.currentTimeMillis();
+        Vocabulary vocabulary = Vocabulary.getVocabulary(language).get();
+        OpeningBook book = new OpeningBookBuilder(vocabulary).build();
+        try (Writer writer = new OutputStreamWriter(new FileOutputStream(output), StandardCharsets.UTF_8)) {
+            book.write(writer);
+        }
+        logger.info("Opening book of {} words written to {} in {} s", book.size(),
+                output.getPath(), (System.currentTimeMillis() - started) / 1000);
+        System.exit(0);
+    }
+
+    /**
+     * Evaluates all the start words of the vocabulary in parallel.
+     *
+     * @return built opening book
+     */
+    OpeningBook build() {
+        List<String> startWords = new ArrayList<>();
+        for (int size = GameField.MIN_START_WORD_SIZE; size <= GameField.MAX_START_WORD_SIZE; size++) {
+            startWords.addAll(vocabulary.getWords(size));
+        }
+        logger.info("Evaluating {} start words on {} cores", startWords.size(),
+                Runtime.getRuntime().availableProcessors());
+        List<OpeningBook.Entry> entries = startWords.parallelStream()
+                .map((String word) -> evaluate(word, startWords.size()))
+                .collect(Collectors.toList());
+        return new OpeningBook(entries);
+    }
+
+    /**
+     * Evaluates one start word by playing the game to its end.
+     *
+     * @param startWord   word to evaluate
+     * @param total       number of words to evaluate, for progress logging
+     * @return start word evaluation
+     */
+    private OpeningBook.Entry evaluate(String startWord, int total) {
+        GameField gameField = new GameField(startWord);
+        Algorithm algorithm = new Algorithm(gameField, vocabulary);
+        Set<String> usedWords = new HashSet<>();
+        usedWords.add(startWord);
+
+        int firstMoves = -1;
+        int length = 0;
+        while (true) {
+            Move bestMove = null;
+            int moves = 0;
+            for (Move move : algorithm.generateMoves()) {
+                if (usedWords.contains(move.getResultWordAsString(gameField))) continue;
+                moves++;
+                if (bestMove == null || move.getResultWordSize() > bestMove.getResultWordSize()) {
+                    bestMove = move;
+                }
+            }
+            if (firstMoves < 0) {
+                firstMoves = moves;
+            }
+            if (bestMove == null) break;
+            bestMove.getCell(gameField).setValue(bestMove.getNewCellValue());
+            usedWords.add(bestMove.getResultWordAsString(gameField));
+            length++;
+        }
+
+        int done = evaluated.incrementAndGet();
+        if (done % PROGRESS_STEP == 0) {
+            logger.info("{} of {} start words evaluated", done, total);
+        }
+        return new OpeningBook.Entry(startWord, firstMoves, length);
+    }
+}
@@ -67,6 +67,18 @@ public class Player {
         score = 0;
     }
 
+    /**
+     * Creates a copy of player with the same name, words and score.
+     *
+     * @return player copy
+     */
+    Player copy() {
+        Player copy = new Player(name);
+        copy.score = score;
+        copy.words.addAll(words);
+        return copy;
+    }
+
     /**
      * Getter for player name
      *
@@ -0,0 +1,131 @@
+package com.wordmaster.model;
+
+import com.wordmaster.model.algorithm.Algorithm;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Analyzes the played game: for each played move finds the best move of
+ * the same position, the one with the longest word. Positions are restored
+ * from the start word and the moves, then they are analyzed in parallel
+ * on all the processor cores. Vocabulary trees are shared by all the
+ * positions.
+ *
+ * @author Mike
+ * @version 1.0
+ */
+public class PostGameAnalyzer {
+    private final Algorithm algorithm;
+    private final String startWord;
+    private final List<Player> players;
+    private final List<Move> moves;
+
+    /**
+     * Creates analyzer of the game.
+     *
+     * @param algorithm model algorithm, its vocabulary trees are shared
+     * @param startWord the base word
+     * @param players   players in the turn order
+     * @param moves     played moves
+     */
+    PostGameAnalyzer(Algorithm algorithm, String startWord, List<Player> players, List<Move> moves) {
+        this.algorithm = algorithm;
+        this.startWord = startWord;
+        this.players = players;
+        this.moves = moves;
+    }
+
+    /**
+     * Analyzes all the played moves.
+     *
+     * @return analysis of each move in the played order
+     */
+    List<MoveAnalysis> analyze() {
+        GameField gameField = new GameField(startWord);
+        List<char[][]> positions = new ArrayList<>(moves.size());
+        String[] playedWords = new String[moves.size()];
+        for (int i = 0; i < moves.size(); i++) {
+            positions.add(gameField.copyCells());
+            Move move = moves.get(i);
+            move.getCell(gameField).setValue(move.getNewCellValue());
+            playedWords[i] = move.getResultWord(gameField).toString();
+        }
+        return IntStream.range(0, moves.size()).parallel()
+                .mapToObj((int i) -> analyzePosition(i, positions.get(i), playedWords))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Finds the best move of the position before the played move.
+     *
+     * @param moveNumber    zero-based number of the played move
+     * @param cells         game field cells before the move
+     * @param playedWords   words of all the played moves
+     * @return move analysis
+     */
+    private MoveAnalysis analyzePosition(int moveNumber, char[][] cells, String[] playedWords) {
+        GameField gameField = new GameField(startWord);
+        gameField.setCells(cells);
+        Set<String> usedWords = new HashSet<>(Arrays.asList(playedWords).subList(0, moveNumber));
+        usedWords.add(startWord);
+
+        String bestWord = playedWords[moveNumber];
+        for (Move move : algorithm.forField(gameField).generateMoves()) {
+            if (move.getResultWordSize() <= bestWord.length()) continue;
+            String word = move.getResultWordAsString(gameField);
+            if (!usedWords.contains(word)) {
+                bestWord = word;
+            }
+        }
+        String playerName = players.get(moveNumber % players.size()).getName();
+        return new MoveAnalysis(moveNumber, playerName, playedWords[moveNumber], bestWord);
+    }
+
+    /**
+     * Played and the best move of one game position.
+     */
+    public static class MoveAnalysis {
+        private final int moveNumber;
+        private final String playerName;
+        private final String playedWord;
+        private final String bestWord;
+
+        MoveAnalysis(int moveNumber, String playerName, String playedWord, String bestWord) {
+            this.moveNumber = moveNumber;
+            this.playerName = playerName;
+            this.playedWord = playedWord;
+            this.bestWord = bestWord;
+        }
+
+        public int getMoveNumber() {
+            return moveNumber;
+        }
+
+        public String getPlayerName() {
+            return playerName;
+        }
+
+        public String getPlayedWord() {
+            return playedWord;
+        }
+
+        public String getBestWord() {
+            return bestWord;
+        }
+
+        /**
+         * Getter for the score player could get more with the best move
+         *
+         * @return difference of the best and the played word lengths
+         */
+        public int getMissedScore() {
+            return bestWord.length() - playedWord.length();
+        }
+    }
+}
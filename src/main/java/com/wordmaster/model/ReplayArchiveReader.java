@@ -0,0 +1,297 @@
+package com.wordmaster.model;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.BufferedInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Streaming reader of the game saves for the bulk replay analysis.
+ * Reads binary and XML saves move by move without creating
+ * <code>GameModel</code>, its algorithm and threads. Words are restored
+ * on the light-weight field copy.
+ *
+ * @author Mike
+ * @version 1.0
+ */
+public class ReplayArchiveReader {
+    private static final Logger logger = LoggerFactory.getLogger(ReplayArchiveReader.class);
+    private static final ThreadLocal<XMLInputFactory> xmlInputFactory =
+            ThreadLocal.withInitial(XMLInputFactory::newInstance);
+
+    private final File file;
+    private final ReplayVisitor visitor;
+    private final List<Player> players = new ArrayList<>();
+    private char[][] field;
+    private int currentMove;
+    private int moveNumber;
+
+    private ReplayArchiveReader(File file, ReplayVisitor visitor) {
+        this.file = file;
+        this.visitor = visitor;
+    }
+
+    /**
+     * Reads one save file, save format is detected by the file content.
+     *
+     * @param file      file with save
+     * @param visitor   visitor to pass replay data
+     * @throws IOException if file cannot be read or is not a game save
+     */
+    public static void read(File file, ReplayVisitor visitor) throws IOException {
+        ReplayArchiveReader reader = new ReplayArchiveReader(file, visitor);
+        try (InputStream is = new BufferedInputStream(new FileInputStream(file))) {
+            if (BinaryGameFormat.isBinary(is)) {
+                reader.readBinary(is);
+            } else {
+                reader.readXml(is);
+            }
+        }
+    }
+
+    /**
+     * Reads all the save files of directory in parallel. Each file gets
+     * its own visitor from the factory, so visitors are not shared
+     * between threads. Unreadable files are skipped.
+     *
+     * @param directory         directory with saves
+     * @param visitorFactory    factory of the file visitors
+     * @return number of successfully read files
+     * @throws IOException if directory cannot be listed
+     */
+    public static int scan(File directory, Supplier<? extends ReplayVisitor> visitorFactory)
+            throws IOException {
+        File[] files = directory.listFiles(File::isFile);
+        if (files == null) {
+            throw new IOException("Cannot list replay directory " + directory.getName());
+        }
+        return scan(Arrays.asList(files), visitorFactory);
+    }
+
+    /**
+     * Reads all the save files in parallel. Each file gets its own
+     * visitor from the factory. Unreadable files are skipped.
+     *
+     * @param files             files with saves
+     * @param visitorFactory    factory of the file visitors
+     * @return number of successfully read files
+     */
+    public static int scan(List<File> files, Supplier<? extends ReplayVisitor> visitorFactory) {
+        AtomicInteger readFiles = new AtomicInteger();
+        files.parallelStream().forEach((File file) -> {
+            try {
+                read(file, visitorFactory.get());
+                readFiles.incrementAndGet();
+            } catch (IOException e) {
+                logger.warn("Cannot read replay {}", file.getName(), e);
+            }
+        });
+        return readFiles.get();
+    }
+
+    private void readBinary(InputStream is) throws IOException {
+        for (byte b : BinaryGameFormat.MAGIC) {
+            if (BinaryGameFormat.readByte(is) != b) {
+                throw new IOException("Not a binary game save");
+            }
+        }
+        int version = BinaryGameFormat.readVarint(is);
+        if (version < 1 || version > BinaryGameFormat.VERSION) {
+            throw new IOException("Unsupported binary game save version " + version);
+        }
+        startGame(BinaryGameFormat.readString(is));
+        int playersCount = BinaryGameFormat.readCount(is);
+        for (int i = 0; i < playersCount; i++) {
+            addPlayer(BinaryGameFormat.readPlayer(is));
+        }
+        if (version > 1) {
+            BinaryGameFormat.readLong(is);  // seed
+        }
+        if (version >= BinaryGameFormat.FIRST_VERSION_WITH_START_TIME) {
+            BinaryGameFormat.readLong(is);  // start time
+        }
+        currentMove = BinaryGameFormat.readCount(is);
+        int movesCount = BinaryGameFormat.readCount(is);
+        boolean hasPrevCellValue = version < BinaryGameFormat.FIRST_VERSION_WITHOUT_PREV_CELL_VALUE;
+        for (int i = 0; i < movesCount; i++) {
+            addMove(BinaryGameFormat.readMove(is, hasPrevCellValue));
+        }
+        visitor.onGameEnd(file);
+    }
+
+    private void readXml(InputStream is) throws IOException {
+        XMLStreamReader reader = null;
+        try {
+            reader = xmlInputFactory.get().createXMLStreamReader(is);
+            List<int[]> resultWord = new ArrayList<>();
+            List<String> items = new ArrayList<>();
+            Move move = null;
+            boolean isGame = false;
+            while (reader.hasNext()) {
+                int event = reader.next();
+                if (event == XMLStreamConstants.START_ELEMENT) {
+                    switch (reader.getLocalName()) {
+                        case "game": {
+                            isGame = true;
+                            break;
+                        }
+                        case "player": {
+                            addPlayer(readXmlPlayer(reader));
+                            break;
+                        }
+                        case "words":
+                        case "field": {
+                            skipElement(reader);
+                            break;
+                        }
+                        case "currentMove": {
+                            currentMove = Integer.parseInt(reader.getElementText().trim());
+                            break;
+                        }
+                        case "gameField": {
+                            startGame(reader.getAttributeValue(null, "startWord"));
+                            break;
+                        }
+                        case "move": {
+                            move = new Move();
+                            move.setCell(getIntAttribute(reader, "cellX"), getIntAttribute(reader, "cellY"));
+                            move.setNewCellValue((char) getIntAttribute(reader, "newCellValue"));
+                            move.setPrevCellValue((char) getIntAttribute(reader, "prevCellValue"));
+                            resultWord.clear();
+                            break;
+                        }
+                        case "resultWord": {
+                            items.clear();
+                            break;
+                        }
+                        case "item": {
+                            items.add(reader.getElementText().trim());
+                            break;
+                        }
+                        default:
+                    }
+                } else if (event == XMLStreamConstants.END_ELEMENT) {
+                    switch (reader.getLocalName()) {
+                        case "resultWord": {
+                            if (items.size() != 2) {
+                                throw new IOException("Corrupted result word cell");
+                            }
+                            resultWord.add(new int[] {
+                                    Integer.parseInt(items.get(0)), Integer.parseInt(items.get(1))});
+                            break;
+                        }
+                        case "move": {
+                            if (move == null) throw new IOException("Corrupted move");
+                            move.setResultWordCells(resultWord.toArray(new int[resultWord.size()][]));
+                            addMove(move);
+                            move = null;
+                            break;
+                        }
+                        default:
+                    }
+                }
+            }
+            if (!isGame || field == null) {
+                throw new IOException("Not a game save");
+            }
+            visitor.onGameEnd(file);
+        } catch (XMLStreamException | IllegalArgumentException e) {
+            throw new IOException("Cannot parse game save " + file.getName(), e);
+        } finally {
+            if (reader != null) {
+                try {
+                    reader.close();
+                } catch (XMLStreamException e) {
+                    logger.warn("Cannot close replay reader", e);
+                }
+            }
+        }
+    }
+
+    private Player readXmlPlayer(XMLStreamReader reader) {
+        String name = reader.getAttributeValue(null, "name");
+        if (!Boolean.parseBoolean(reader.getAttributeValue(null, "computer"))) {
+            return new Player(name);
+        }
+        String difficulty = reader.getAttributeValue(null, "difficulty");
+        String delay = reader.getAttributeValue(null, "delay");
+        return new ComputerPlayer(name,
+                difficulty == null ? null : ComputerPlayer.Difficulty.valueOf(difficulty),
+                delay == null ? 0 : Integer.parseInt(delay));
+    }
+
+    private void startGame(String startWord) throws IOException {
+        if (startWord == null || startWord.isEmpty() || startWord.length() > GameField.FIELD_WIDTH) {
+            throw new IOException("Invalid start word in replay " + file.getName());
+        }
+        field = new GameField(startWord).copyCells();
+        visitor.onGameStart(file, startWord);
+        for (int i = 0; i < players.size(); i++) {
+            visitor.onPlayer(i, players.get(i));
+        }
+    }
+
+    private void addPlayer(Player player) {
+        players.add(player);
+        if (field != null) {
+            visitor.onPlayer(players.size() - 1, player);
+        }
+    }
+
+    private void addMove(Move move) throws IOException {
+        if (field == null || players.isEmpty()) {
+            throw new IOException("Replay move before game start");
+        }
+        int x = move.getCellX();
+        int y = move.getCellY();
+        int[][] resultWord = move.getResultWordCells();
+        if (!isOnField(x, y) || resultWord == null) {
+            throw new IOException("Corrupted replay move " + moveNumber);
+        }
+        field[y][x] = move.getNewCellValue();
+        StringBuilder word = new StringBuilder(resultWord.length);
+        for (int[] cell : resultWord) {
+            if (!isOnField(cell[0], cell[1])) {
+                throw new IOException("Corrupted replay move " + moveNumber);
+            }
+            word.append(field[cell[1]][cell[0]]);
+        }
+        visitor.onMove(moveNumber, moveNumber % players.size(), move,
+                word.toString(), moveNumber >= currentMove);
+        moveNumber++;
+    }
+
+    private static boolean isOnField(int x, int y) {
+        return x >= 0 && x < GameField.FIELD_WIDTH && y >= 0 && y < GameField.FIELD_HEIGHT;
+    }
+
+    private static int getIntAttribute(XMLStreamReader reader, String name) throws IOException {
+        String value = reader.getAttributeValue(null, name);
+        if (value == null) {
+            throw new IOException("Missing replay attribute " + name);
+        }
+        return Integer.parseInt(value);
+    }
+
+    private static void skipElement(XMLStreamReader reader) throws XMLStreamException {
+        int depth = 1;
+        while (depth > 0) {
+            int event = reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT) depth++;
+            if (event == XMLStreamConstants.END_ELEMENT) depth--;
+        }
+    }
+}
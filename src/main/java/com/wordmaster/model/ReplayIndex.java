@@ -0,0 +1,79 @@
+package com.wordmaster.model;
+
+import java.util.List;
+
+/**
+ * Seekable index over the replay moves. Keeps the word of each move
+ * and the game field checkpoint every <code>CHECKPOINT_INTERVAL</code>
+ * moves, so the field for any move is restored from the nearest
+ * checkpoint by applying a few moves only.
+ *
+ * @author Mike
+ * @version 1.0
+ */
+class ReplayIndex {
+    static final int CHECKPOINT_INTERVAL = 8;
+
+    private final List<Move> moves;
+    private final String[] words;
+    private final char[][][] checkpoints;
+
+    /**
+     * Builds the index by applying all the moves to the start word.
+     *
+     * @param startWord the base word
+     * @param moves     replay moves
+     */
+    ReplayIndex(String startWord, List<Move> moves) {
+        this.moves = moves;
+        words = new String[moves.size()];
+        checkpoints = new char[moves.size() / CHECKPOINT_INTERVAL + 1][][];
+
+        GameField field = new GameField(startWord);
+        for (int i = 0; i < moves.size(); i++) {
+            if (i % CHECKPOINT_INTERVAL == 0) {
+                checkpoints[i / CHECKPOINT_INTERVAL] = field.copyCells();
+            }
+            Move move = moves.get(i);
+            move.getCell(field).setValue(move.getNewCellValue());
+            words[i] = move.getResultWord(field).toString();
+        }
+        if (moves.size() % CHECKPOINT_INTERVAL == 0) {
+            checkpoints[moves.size() / CHECKPOINT_INTERVAL] = field.copyCells();
+        }
+    }
+
+    /**
+     * Getter for the word created by move.
+     *
+     * @param moveNumber zero-based move number
+     * @return word created by the move
+     */
+    String getWord(int moveNumber) {
+        return words[moveNumber];
+    }
+
+    /**
+     * Changes field from the state after <code>fromMove</code> moves to
+     * the state after <code>toMove</code> moves. Near moves are applied
+     * or reverted one by one, far ones are restored from the checkpoint.
+     *
+     * @param field     field to change
+     * @param fromMove  number of moves applied to the field
+     * @param toMove    number of moves to be applied to the field
+     */
+    void seekField(GameField field, int fromMove, int toMove) {
+        if (Math.abs(toMove - fromMove) > CHECKPOINT_INTERVAL) {
+            field.setCells(checkpoints[toMove / CHECKPOINT_INTERVAL]);
+            fromMove = toMove - toMove % CHECKPOINT_INTERVAL;
+        }
+        for (int i = fromMove; i < toMove; i++) {
+            Move move = moves.get(i);
+            move.getCell(field).setValue(move.getNewCellValue());
+        }
+        for (int i = fromMove - 1; i >= toMove; i--) {
+            Move move = moves.get(i);
+            move.getCell(field).setValue(move.getPrevCellValue());
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.wordmaster.model;
+
+import java.io.File;
+
+/**
+ * Receives replay data from <code>ReplayArchiveReader</code> while save
+ * file is being read. Methods are called in the file order: game start,
+ * players, moves and game end.
+ *
+ * @author Mike
+ * @version 1.0
+ */
+public interface ReplayVisitor {
+    /**
+     * Will be called before any other replay data.
+     *
+     * @param file      file being read
+     * @param startWord the base word
+     */
+    void onGameStart(File file, String startWord);
+
+    /**
+     * Will be called for each game player.
+     *
+     * @param playerIndex   player turn order number
+     * @param player        player without words
+     */
+    void onPlayer(int playerIndex, Player player);
+
+    /**
+     * Will be called for each game move. Moves after the current
+     * move were undone, but can be redone.
+     *
+     * @param moveNumber    zero-based move number
+     * @param playerIndex   turn order number of player made the move
+     * @param move          the move
+     * @param word          word created by the move
+     * @param isUndone      true if move is after the saved current move
+     */
+    void onMove(int moveNumber, int playerIndex, Move move, String word, boolean isUndone);
+
+    /**
+     * Will be called after the last replay move.
+     *
+     * @param file file being read
+     */
+    void onGameEnd(File file);
+}
@@ -0,0 +1,21 @@
+package com.wordmaster.model;
+
+import com.wordmaster.model.exception.ModelException;
+
+import java.io.File;
+
+/**
+ * Callback to call after asynchronous model saving.
+ *
+ * @author Mike
+ * @version 1.0
+ */
+public interface SaveCallback {
+    /**
+     * Will be called from the saving thread after save completes.
+     *
+     * @param file  file the model was saved to
+     * @param error saving error, null on success
+     */
+    void onSave(File file, ModelException error);
+}
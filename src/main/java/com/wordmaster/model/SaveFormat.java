@@ -0,0 +1,36 @@
+package com.wordmaster.model;
+
+import java.io.File;
+
+/**
+ * Supported game save formats. XML is kept for the interchange,
+ * binary is the compact one for the big replay archives.
+ *
+ * @author Mike
+ * @version 1.0
+ */
+public enum SaveFormat {
+    /**
+     * JAXB XML format
+     */
+    XML,
+    /**
+     * Compact binary format, see <code>BinaryGameFormat</code>
+     */
+    BINARY;
+
+    public static final String BINARY_EXTENSION = ".wmb";
+
+    /**
+     * Detects save format by the file extension.
+     *
+     * @param file file to save
+     * @return binary format for the <code>BINARY_EXTENSION</code> files, XML otherwise
+     */
+    public static SaveFormat forFile(File file) {
+        if (file.getName().toLowerCase().endsWith(BINARY_EXTENSION)) {
+            return BINARY;
+        }
+        return XML;
+    }
+}
@@ -0,0 +1,35 @@
+package com.wordmaster.model;
+
+/**
+ * Model listener that puts the finished game to the statistics store.
+ * Game duration is counted from the game start time, which is kept
+ * in the saves, so loaded games are recorded with their whole duration.
+ *
+ * @author Mike
+ * @version 1.0
+ */
+public class StatisticsRecorder implements ModelAware {
+    private final StatisticsStore store;
+
+    /**
+     * Creates recorder of the game.
+     *
+     * @param store statistics store to put the game to
+     */
+    public StatisticsRecorder(StatisticsStore store) {
+        this.store = store;
+    }
+
+    @Override
+    public void onMove(GameModel model) {
+    }
+
+    @Override
+    public void onFinish(GameModel model) {
+        store.append(GameRecord.of(model, System.currentTimeMillis() - model.getStartTime()));
+    }
+
+    @Override
+    public void onInvalidMove(GameModel model, int type) {
+    }
+}
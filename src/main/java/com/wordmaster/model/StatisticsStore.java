@@ -0,0 +1,807 @@
+package com.wordmaster.model;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.function.Consumer;
+
+/**
+ * Append-only store of the finished games statistics. Records are
+ * queued and written by the separate statistics thread, queries read
+ * the files directly, so records are never loaded all at once.
+ * <p>
+ * Store directory contains:
+ * <ul>
+ *     <li>games file: magic, version, then length prefixed game records;</li>
+ *     <li>date index: date and offset of each record, in the order the
+ *     records are appended, so it is searched by the binary search;</li>
+ *     <li>player indexes: one file per player named by the player name hash,
+ *     fixed size entries with the name hash, record offset, date and player
+ *     result in the order the records are appended. Player aggregates are
+ *     computed from the player file only, without reading the records;</li>
+ *     <li>pending players: name hashes of the players of the batch being
+ *     written, it is empty when the batch is complete.</li>
+ * </ul>
+ * Record is written and synced to the games file first, then to the
+ * player indexes and to the date index, so the date index entry means the
+ * record is complete. On opening, date index entries pointing to records
+ * which cannot be read are dropped, player entries of the pending players
+ * written after the last date index entry are dropped and the records
+ * written after it are indexed again. Player indexes are rebuilt from
+ * the games file if they are missing.
+ *
+ * @author Mike
+ * @version 1.0
+ */
+public class StatisticsStore {
+    private static final Logger logger = LoggerFactory.getLogger(StatisticsStore.class);
+    static final byte[] MAGIC = {'W', 'M', 'G', 'S'};
+    static final int VERSION = 1;
+    public static final String DEFAULT_STATISTICS_DIRECTORY = "statistics";
+
+    private static final String GAMES_FILE = "games.wms";
+    private static final String DATE_INDEX_FILE = "dates.idx";
+    private static final String PLAYERS_DIRECTORY = "players";
+    private static final String PLAYER_INDEX_EXTENSION = ".idx";
+    private static final String PENDING_PLAYERS_FILE = "pending.idx";
+    private static final String OLD_PLAYER_INDEX_PREFIX = "players-";
+    private static final int MAX_BUFFERED_PLAYER_ENTRIES = 4096;
+    private static final int DATE_ENTRY_SIZE = 16;
+    private static final int PLAYER_ENTRY_SIZE = 40;
+    private static final int FLAG_COMPUTER = 1;
+    private static final int FLAG_WINNER = 2;
+    private static final int HEADER_SIZE = MAGIC.length + 1;
+    private static final int MAX_RECORD_SIZE = 1 << 20;
+
+    private final File directory;
+    private final BlockingQueue<GameRecord> recordQueue = new LinkedBlockingQueue<>();
+    private final GameRecord closeRecord = new GameRecord(0, 0, "", new ArrayList<>());
+    private volatile boolean closed = false;
+
+    private long gamesLength;
+    private long lastDate;
+
+    private StatisticsStore(File directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Opens the store in the directory, creates it if needed, and starts
+     * statistics thread. Records left not indexed after crash are indexed
+     * again, torn record at the end of the games file is dropped.
+     *
+     * @param directory store directory
+     * @return opened store
+     * @throws IOException if store cannot be opened or is corrupted
+     */
+    public static StatisticsStore open(File directory) throws IOException {
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new IOException("Cannot create statistics directory " + directory.getAbsolutePath());
+        }
+        StatisticsStore store = new StatisticsStore(directory);
+        store.recover();
+
+        Thread statisticsThread = new Thread(store::writeLoop);
+        statisticsThread.setName("statisticsThread");
+        statisticsThread.start();
+        return store;
+    }
+
+    /**
+     * Queues game record to be written.
+     *
+     * @param record record of the finished game
+     */
+    public void append(GameRecord record) {
+        if (closed) return;
+        recordQueue.add(record);
+    }
+
+    /**
+     * Closes the store after writing all the queued records.
+     */
+    public void close() {
+        append(closeRecord);
+        closed = true;
+    }
+
+    /**
+     * Aggregates all the written results of the player.
+     *
+     * @param playerName player name
+     * @return player statistics
+     * @throws IOException if index cannot be read
+     */
+    public PlayerStatistics getPlayerStatistics(String playerName) throws IOException {
+        return getPlayerStatistics(playerName, Long.MIN_VALUE, Long.MAX_VALUE);
+    }
+
+    /**
+     * Aggregates the written results of the player in the games finished
+     * in the date range. Only the player index is read, the first entry
+     * is found by the binary search.
+     *
+     * @param playerName player name
+     * @param from       the earliest date in milliseconds, inclusive
+     * @param to         the latest date in milliseconds, inclusive
+     * @return player statistics
+     * @throws IOException if index cannot be read
+     */
+    public PlayerStatistics getPlayerStatistics(String playerName, long from, long to) throws IOException {
+        PlayerStatistics statistics = new PlayerStatistics();
+        long nameHash = getNameHash(playerName);
+        File playerIndexFile = getPlayerIndexFile(nameHash);
+        long entriesCount = playerIndexFile.length() / PLAYER_ENTRY_SIZE;
+        if (entriesCount == 0) return statistics;
+        long first;
+        try (RandomAccessFile playerIndex = new RandomAccessFile(playerIndexFile, "r")) {
+            first = findFirstEntry(playerIndex, entriesCount, PLAYER_ENTRY_SIZE, 16, from);
+        }
+        try (FileInputStream fis = new FileInputStream(playerIndexFile)) {
+            fis.getChannel().position(first * PLAYER_ENTRY_SIZE);
+            DataInputStream is = new DataInputStream(new BufferedInputStream(fis));
+            for (long i = first; i < entriesCount; i++) {
+                PlayerEntry entry = PlayerEntry.read(is);
+                if (entry.date > to) break;
+                if (entry.nameHash == nameHash) {
+                    statistics.add(entry);
+                }
+            }
+        }
+        return statistics;
+    }
+
+    /**
+     * Reads the written records of the games finished in the date range
+     * one by one. The first record is found by the date index.
+     *
+     * @param from     the earliest date in milliseconds, inclusive
+     * @param to       the latest date in milliseconds, inclusive
+     * @param consumer consumer of the records
+     * @throws IOException if records cannot be read
+     */
+    public void forEachGame(long from, long to, Consumer<GameRecord> consumer) throws IOException {
+        File dateIndexFile = new File(directory, DATE_INDEX_FILE);
+        if (!dateIndexFile.isFile()) return;
+        long startOffset;
+        long endOffset;
+        try (RandomAccessFile dateIndex = new RandomAccessFile(dateIndexFile, "r")) {
+            long entriesCount = dateIndex.length() / DATE_ENTRY_SIZE;
+            long first = findFirstEntry(dateIndex, entriesCount, DATE_ENTRY_SIZE, 0, from);
+            if (first == entriesCount) return;
+            dateIndex.seek(first * DATE_ENTRY_SIZE + 8);
+            startOffset = dateIndex.readLong();
+            // records are complete up to the last date index entry
+            dateIndex.seek((entriesCount - 1) * DATE_ENTRY_SIZE + 8);
+            endOffset = dateIndex.readLong();
+        }
+        try (FileInputStream fis = new FileInputStream(new File(directory, GAMES_FILE))) {
+            fis.getChannel().position(startOffset);
+            InputStream is = new BufferedInputStream(fis);
+            for (long offset = startOffset; offset <= endOffset; ) {
+                byte[] bytes = readRecordBytes(is);
+                offset += getRecordSize(bytes);
+                GameRecord record = readRecord(bytes);
+                if (record.getDate() > to) return;
+                if (record.getDate() >= from) {
+                    consumer.accept(record);
+                }
+            }
+        }
+    }
+
+    /**
+     * Finds the first index entry with the date not before specified.
+     * Entries of the index are sorted by date.
+     *
+     * @param index       index file
+     * @param entriesCount number of the entries in the index
+     * @param entrySize   size of the entry
+     * @param dateOffset  offset of the date in the entry
+     * @param from        the earliest date
+     * @return entry number or <code>entriesCount</code> if there is no such entries
+     */
+    private static long findFirstEntry(RandomAccessFile index, long entriesCount, int entrySize,
+                                       int dateOffset, long from) throws IOException {
+        long low = 0;
+        long high = entriesCount;
+        while (low < high) {
+            long middle = (low + high) >>> 1;
+            index.seek(middle * entrySize + dateOffset);
+            if (index.readLong() < from) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Statistics thread body. Takes all the queued records at once and
+     * writes them to the games file and indexes. Games file and player
+     * indexes are synced to disk before the date index entries are
+     * written, so date index entry always points to the complete record.
+     * Players of the batch are listed in the pending players file before
+     * their indexes are written, so the entries of the incomplete batch
+     * can be found on opening.
+     */
+    private void writeLoop() {
+        try (FileOutputStream gamesFile = new FileOutputStream(new File(directory, GAMES_FILE), true);
+             FileOutputStream dateIndexFile = new FileOutputStream(new File(directory, DATE_INDEX_FILE), true);
+             RandomAccessFile pendingPlayers = new RandomAccessFile(
+                     new File(directory, PENDING_PLAYERS_FILE), "rw")) {
+            OutputStream games = new BufferedOutputStream(gamesFile);
+            DataOutputStream dateIndex = new DataOutputStream(new BufferedOutputStream(dateIndexFile));
+            List<GameRecord> batch = new ArrayList<>();
+            while (true) {
+                batch.add(recordQueue.take());
+                recordQueue.drainTo(batch);
+                boolean close = false;
+                List<GameRecord> records = new ArrayList<>();
+                List<Long> offsets = new ArrayList<>();
+                for (GameRecord record : batch) {
+                    if (record == closeRecord) {
+                        close = true;
+                        break;
+                    }
+                    // dates are kept monotonic for the date index binary search
+                    if (record.getDate() < lastDate) {
+                        record = new GameRecord(lastDate, record.getDuration(),
+                                record.getStartWord(), record.getResults());
+                    }
+                    lastDate = record.getDate();
+                    byte[] bytes = writeRecord(record);
+                    records.add(record);
+                    offsets.add(gamesLength);
+                    games.write(bytes);
+                    gamesLength += bytes.length;
+                }
+                games.flush();
+                gamesFile.getChannel().force(false);
+
+                Map<Long, List<PlayerEntry>> playerEntries = new LinkedHashMap<>();
+                for (int i = 0; i < records.size(); i++) {
+                    addPlayerEntries(playerEntries, records.get(i), offsets.get(i));
+                }
+                pendingPlayers.setLength(0);
+                for (long nameHash : playerEntries.keySet()) {
+                    pendingPlayers.writeLong(nameHash);
+                }
+                pendingPlayers.getChannel().force(false);
+                writePlayerEntries(new File(directory, PLAYERS_DIRECTORY), playerEntries);
+
+                for (int i = 0; i < records.size(); i++) {
+                    dateIndex.writeLong(records.get(i).getDate());
+                    dateIndex.writeLong(offsets.get(i));
+                }
+                dateIndex.flush();
+                dateIndexFile.getChannel().force(false);
+                pendingPlayers.setLength(0);
+                logger.debug("{} game records written to statistics", records.size());
+                batch.clear();
+                if (close) {
+                    logger.debug("Statistics store closed");
+                    return;
+                }
+            }
+        } catch (IOException e) {
+            logger.error("Cannot write game statistics", e);
+        } catch (InterruptedException e) {
+            logger.error("Statistics thread was suddenly interrupted", e);
+        }
+        closed = true;
+        recordQueue.clear();
+    }
+
+    /**
+     * Brings the files to the consistent state: drops the date index
+     * entries pointing to the records, which cannot be read, drops the
+     * incomplete entries and indexes the records written after the last
+     * date index entry. Player indexes are rebuilt if they are missing or
+     * may contain entries of the dropped records.
+     */
+    private void recover() throws IOException {
+        File gamesFile = new File(directory, GAMES_FILE);
+        if (!gamesFile.isFile() || gamesFile.length() < HEADER_SIZE) {
+            try (OutputStream os = new FileOutputStream(gamesFile)) {
+                os.write(MAGIC);
+                BinaryGameFormat.writeVarint(os, VERSION);
+            }
+            truncate(new File(directory, DATE_INDEX_FILE), 0);
+            deleteDirectory(new File(directory, PLAYERS_DIRECTORY));
+        }
+        try (InputStream is = new BufferedInputStream(new FileInputStream(gamesFile))) {
+            for (byte b : MAGIC) {
+                if (BinaryGameFormat.readByte(is) != b) {
+                    throw new IOException("Not a statistics file " + gamesFile.getAbsolutePath());
+                }
+            }
+            int version = BinaryGameFormat.readVarint(is);
+            if (version != VERSION) {
+                throw new IOException("Unsupported statistics version " + version);
+            }
+        }
+
+        // the last indexed record and the end of it
+        File dateIndexFile = new File(directory, DATE_INDEX_FILE);
+        long dateEntries = dateIndexFile.length() / DATE_ENTRY_SIZE;
+        truncate(dateIndexFile, dateEntries * DATE_ENTRY_SIZE);
+        long indexedEnd = HEADER_SIZE;
+        long lastIndexedOffset = -1;
+        long validEntries = dateEntries;
+        if (dateEntries > 0) {
+            try (RandomAccessFile dateIndex = new RandomAccessFile(dateIndexFile, "r")) {
+                for (; validEntries > 0; validEntries--) {
+                    dateIndex.seek((validEntries - 1) * DATE_ENTRY_SIZE);
+                    long date = dateIndex.readLong();
+                    long offset = dateIndex.readLong();
+                    long recordEnd = getReadableRecordEnd(gamesFile, offset);
+                    if (recordEnd >= 0) {
+                        lastDate = date;
+                        lastIndexedOffset = offset;
+                        indexedEnd = recordEnd;
+                        break;
+                    }
+                }
+            }
+        }
+        if (validEntries < dateEntries) {
+            logger.warn("{} statistics date index entries point to lost records, they are dropped",
+                    dateEntries - validEntries);
+            truncate(dateIndexFile, validEntries * DATE_ENTRY_SIZE);
+            // entries of the dropped records may be in any player index
+            deleteDirectory(new File(directory, PLAYERS_DIRECTORY));
+        }
+        boolean rebuilt = false;
+        if (!new File(directory, PLAYERS_DIRECTORY).isDirectory()) {
+            rebuildPlayerIndexes(gamesFile, indexedEnd);
+            rebuilt = true;
+        }
+
+        // records which are not indexed, torn record at the end is dropped
+        List<GameRecord> notIndexed = new ArrayList<>();
+        long gamesEnd = indexedEnd;
+        try (FileInputStream fis = new FileInputStream(gamesFile)) {
+            fis.getChannel().position(indexedEnd);
+            InputStream is = new BufferedInputStream(fis);
+            while (true) {
+                byte[] bytes;
+                GameRecord record;
+                try {
+                    bytes = readRecordBytes(is);
+                    record = readRecord(bytes);
+                } catch (IOException e) {
+                    break;
+                }
+                notIndexed.add(record);
+                gamesEnd += getRecordSize(bytes);
+            }
+        }
+        if (gamesEnd < gamesFile.length()) {
+            logger.warn("Statistics file ends with torn record, it is dropped");
+        }
+        truncate(gamesFile, indexedEnd);
+        gamesLength = indexedEnd;
+
+        // player entries written after the last date index entry belong
+        // to the pending players or to the players of the records not indexed
+        File pendingPlayersFile = new File(directory, PENDING_PLAYERS_FILE);
+        if (!rebuilt) {
+            Set<Long> playerHashes = new HashSet<>();
+            if (pendingPlayersFile.isFile()) {
+                try (DataInputStream is = new DataInputStream(new BufferedInputStream(
+                        new FileInputStream(pendingPlayersFile)))) {
+                    for (long i = pendingPlayersFile.length() / 8; i > 0; i--) {
+                        playerHashes.add(is.readLong());
+                    }
+                }
+            }
+            for (GameRecord record : notIndexed) {
+                for (GameRecord.PlayerResult result : record.getResults()) {
+                    playerHashes.add(getNameHash(result.getName()));
+                }
+            }
+            for (long nameHash : playerHashes) {
+                dropPlayerEntriesAfter(getPlayerIndexFile(nameHash), lastIndexedOffset);
+            }
+        }
+        truncate(pendingPlayersFile, 0);
+        if (!notIndexed.isEmpty()) {
+            logger.warn("{} statistics records are not indexed, they are written again", notIndexed.size());
+            recordQueue.addAll(notIndexed);
+        }
+    }
+
+    /**
+     * Checks if the complete record can be read at the offset.
+     *
+     * @param gamesFile games file
+     * @param offset    record offset
+     * @return offset of the record end or -1 if record cannot be read
+     */
+    private static long getReadableRecordEnd(File gamesFile, long offset) throws IOException {
+        if (offset < HEADER_SIZE || offset >= gamesFile.length()) return -1;
+        try (FileInputStream fis = new FileInputStream(gamesFile)) {
+            fis.getChannel().position(offset);
+            byte[] bytes = readRecordBytes(new BufferedInputStream(fis));
+            readRecord(bytes);
+            return offset + getRecordSize(bytes);
+        } catch (EOFException e) {
+            return -1;
+        } catch (IOException e) {
+            logger.warn("Corrupted statistics record at {}", offset, e);
+            return -1;
+        }
+    }
+
+    /**
+     * Builds the player indexes of the indexed records. Indexes are built
+     * in the temporary directory, which is renamed when it is complete.
+     * Player index buckets of the older stores are removed.
+     *
+     * @param gamesFile  games file
+     * @param indexedEnd end of the last indexed record
+     */
+    private void rebuildPlayerIndexes(File gamesFile, long indexedEnd) throws IOException {
+        if (indexedEnd > HEADER_SIZE) {
+            logger.info("Building statistics player indexes");
+        }
+        File playersDirectory = new File(directory, PLAYERS_DIRECTORY);
+        File temporaryDirectory = new File(directory, PLAYERS_DIRECTORY + ".tmp");
+        deleteDirectory(temporaryDirectory);
+        Map<Long, List<PlayerEntry>> playerEntries = new LinkedHashMap<>();
+        int bufferedEntries = 0;
+        try (FileInputStream fis = new FileInputStream(gamesFile)) {
+            fis.getChannel().position(HEADER_SIZE);
+            InputStream is = new BufferedInputStream(fis);
+            for (long offset = HEADER_SIZE; offset < indexedEnd; ) {
+                byte[] bytes = readRecordBytes(is);
+                GameRecord record = readRecord(bytes);
+                addPlayerEntries(playerEntries, record, offset);
+                offset += getRecordSize(bytes);
+                bufferedEntries += record.getResults().size();
+                if (bufferedEntries >= MAX_BUFFERED_PLAYER_ENTRIES) {
+                    writePlayerEntries(temporaryDirectory, playerEntries);
+                    playerEntries.clear();
+                    bufferedEntries = 0;
+                }
+            }
+        }
+        writePlayerEntries(temporaryDirectory, playerEntries);
+        if (!temporaryDirectory.renameTo(playersDirectory)) {
+            throw new IOException("Cannot create statistics player indexes " + playersDirectory.getAbsolutePath());
+        }
+        File[] oldBuckets = directory.listFiles((dir, name) -> name.startsWith(OLD_PLAYER_INDEX_PREFIX)
+                && name.endsWith(PLAYER_INDEX_EXTENSION));
+        if (oldBuckets != null) {
+            for (File oldBucket : oldBuckets) {
+                if (!oldBucket.delete()) {
+                    logger.warn("Cannot delete old statistics index {}", oldBucket.getAbsolutePath());
+                }
+            }
+        }
+    }
+
+    private static void addPlayerEntries(Map<Long, List<PlayerEntry>> playerEntries,
+                                         GameRecord record, long offset) {
+        for (GameRecord.PlayerResult result : record.getResults()) {
+            long nameHash = getNameHash(result.getName());
+            playerEntries.computeIfAbsent(nameHash, hash -> new ArrayList<>())
+                    .add(new PlayerEntry(nameHash, offset, record.getDate(), result));
+        }
+    }
+
+    /**
+     * Appends the entries to the player indexes and syncs them to disk.
+     *
+     * @param playersDirectory directory of the player indexes, created if needed
+     * @param playerEntries    entries by the player name hash
+     */
+    private static void writePlayerEntries(File playersDirectory, Map<Long, List<PlayerEntry>> playerEntries)
+            throws IOException {
+        if (!playersDirectory.isDirectory() && !playersDirectory.mkdirs()) {
+            throw new IOException("Cannot create statistics directory " + playersDirectory.getAbsolutePath());
+        }
+        for (Map.Entry<Long, List<PlayerEntry>> entries : playerEntries.entrySet()) {
+            File playerIndexFile = getPlayerIndexFile(playersDirectory, entries.getKey());
+            try (FileOutputStream fos = new FileOutputStream(playerIndexFile, true)) {
+                DataOutputStream os = new DataOutputStream(new BufferedOutputStream(fos));
+                for (PlayerEntry entry : entries.getValue()) {
+                    entry.write(os);
+                }
+                os.flush();
+                fos.getChannel().force(false);
+            }
+        }
+    }
+
+    private static void dropPlayerEntriesAfter(File playerIndexFile, long lastIndexedOffset) throws IOException {
+        if (!playerIndexFile.isFile()) return;
+        long entries = playerIndexFile.length() / PLAYER_ENTRY_SIZE;
+        try (RandomAccessFile index = new RandomAccessFile(playerIndexFile, "r")) {
+            while (entries > 0) {
+                index.seek((entries - 1) * PLAYER_ENTRY_SIZE + 8);
+                if (index.readLong() <= lastIndexedOffset) break;
+                entries--;
+            }
+        }
+        truncate(playerIndexFile, entries * PLAYER_ENTRY_SIZE);
+    }
+
+    private static void deleteDirectory(File directory) throws IOException {
+        File[] files = directory.listFiles();
+        if (files == null) return;
+        for (File file : files) {
+            if (!file.delete()) {
+                throw new IOException("Cannot delete statistics file " + file.getAbsolutePath());
+            }
+        }
+        if (!directory.delete()) {
+            throw new IOException("Cannot delete statistics directory " + directory.getAbsolutePath());
+        }
+    }
+
+    private static void truncate(File file, long length) throws IOException {
+        if (!file.isFile()) return;
+        if (file.length() == length) return;
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            raf.setLength(length);
+        }
+    }
+
+    private File getPlayerIndexFile(long nameHash) {
+        return getPlayerIndexFile(new File(directory, PLAYERS_DIRECTORY), nameHash);
+    }
+
+    private static File getPlayerIndexFile(File playersDirectory, long nameHash) {
+        return new File(playersDirectory, String.format("%016x", nameHash) + PLAYER_INDEX_EXTENSION);
+    }
+
+    /**
+     * Calculates the 64-bit FNV-1a hash of the player name.
+     *
+     * @param name player name
+     * @return name hash
+     */
+    static long getNameHash(String name) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : name.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xFF;
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    /**
+     * Serializes record with its length prefix.
+     */
+    static byte[] writeRecord(GameRecord record) throws IOException {
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        BinaryGameFormat.writeLong(body, record.getDate());
+        BinaryGameFormat.writeLong(body, record.getDuration());
+        BinaryGameFormat.writeString(body, record.getStartWord());
+        BinaryGameFormat.writeVarint(body, record.getResults().size());
+        for (GameRecord.PlayerResult result : record.getResults()) {
+            BinaryGameFormat.writeString(body, result.getName());
+            int flags = (result.isComputer() ? FLAG_COMPUTER : 0) | (result.isWinner() ? FLAG_WINNER : 0);
+            body.write(flags);
+            if (result.isComputer()) {
+                BinaryGameFormat.writeVarint(body, result.getDifficulty().ordinal());
+            }
+            BinaryGameFormat.writeVarint(body, result.getScore());
+            BinaryGameFormat.writeVarint(body, result.getWords().size());
+            for (String word : result.getWords()) {
+                BinaryGameFormat.writeString(body, word);
+            }
+        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(body.size() + 4);
+        BinaryGameFormat.writeVarint(bytes, body.size());
+        body.writeTo(bytes);
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Reads body of the length prefixed record.
+     *
+     * @throws EOFException if stream ends before the record
+     */
+    private static byte[] readRecordBytes(InputStream is) throws IOException {
+        int length = BinaryGameFormat.readVarint(is);
+        if (length < 0 || length > MAX_RECORD_SIZE) {
+            throw new IOException("Corrupted statistics record of size " + length);
+        }
+        byte[] bytes = new byte[length];
+        int read = 0;
+        while (read < length) {
+            int n = is.read(bytes, read, length - read);
+            if (n < 0) throw new EOFException("Unexpected end of statistics file");
+            read += n;
+        }
+        return bytes;
+    }
+
+    private static long getRecordSize(byte[] body) {
+        int prefixSize = 1;
+        for (int length = body.length; (length & ~0x7F) != 0; length >>>= 7) {
+            prefixSize++;
+        }
+        return prefixSize + body.length;
+    }
+
+    static GameRecord readRecord(byte[] bytes) throws IOException {
+        InputStream is = new ByteArrayInputStream(bytes);
+        long date = BinaryGameFormat.readLong(is);
+        long duration = BinaryGameFormat.readLong(is);
+        String startWord = BinaryGameFormat.readString(is);
+        int resultsCount = readRecordCount(is);
+        List<GameRecord.PlayerResult> results = new ArrayList<>(resultsCount);
+        ComputerPlayer.Difficulty[] difficulties = ComputerPlayer.Difficulty.values();
+        for (int i = 0; i < resultsCount; i++) {
+            String name = BinaryGameFormat.readString(is);
+            int flags = BinaryGameFormat.readByte(is);
+            ComputerPlayer.Difficulty difficulty = null;
+            if ((flags & FLAG_COMPUTER) != 0) {
+                int ordinal = BinaryGameFormat.readVarint(is);
+                if (ordinal < 0 || ordinal >= difficulties.length) {
+                    throw new IOException("Unknown computer difficulty " + ordinal);
+                }
+                difficulty = difficulties[ordinal];
+            }
+            int score = BinaryGameFormat.readVarint(is);
+            int wordsCount = readRecordCount(is);
+            List<String> words = new ArrayList<>(wordsCount);
+            for (int j = 0; j < wordsCount; j++) {
+                words.add(BinaryGameFormat.readString(is));
+            }
+            results.add(new GameRecord.PlayerResult(name, difficulty, score, words,
+                    (flags & FLAG_WINNER) != 0));
+        }
+        return new GameRecord(date, duration, startWord, results);
+    }
+
+    /**
+     * Reads count of the record items. Each item takes at least one byte,
+     * so count cannot be greater than the bytes left in the record.
+     *
+     * @throws IOException if count is out of the record
+     */
+    private static int readRecordCount(InputStream is) throws IOException {
+        int count = BinaryGameFormat.readVarint(is);
+        if (count < 0 || count > is.available()) {
+            throw new IOException("Corrupted statistics record count " + count);
+        }
+        return count;
+    }
+
+    /**
+     * Player index entry: name hash, record offset, date, score, words
+     * count, letters count and flags.
+     */
+    private static class PlayerEntry {
+        private final long nameHash;
+        private final long offset;
+        private final long date;
+        private final int score;
+        private final int wordsCount;
+        private final int lettersCount;
+        private final int flags;
+
+        PlayerEntry(long nameHash, long offset, long date, int score,
+                    int wordsCount, int lettersCount, int flags) {
+            this.nameHash = nameHash;
+            this.offset = offset;
+            this.date = date;
+            this.score = score;
+            this.wordsCount = wordsCount;
+            this.lettersCount = lettersCount;
+            this.flags = flags;
+        }
+
+        PlayerEntry(long nameHash, long offset, long date, GameRecord.PlayerResult result) {
+            this(nameHash, offset, date, result.getScore(), result.getWords().size(),
+                    result.getLettersCount(),
+                    (result.isComputer() ? FLAG_COMPUTER : 0) | (result.isWinner() ? FLAG_WINNER : 0));
+        }
+
+        void write(DataOutputStream os) throws IOException {
+            os.writeLong(nameHash);
+            os.writeLong(offset);
+            os.writeLong(date);
+            os.writeInt(score);
+            os.writeInt(wordsCount);
+            os.writeInt(lettersCount);
+            os.writeInt(flags);
+        }
+
+        static PlayerEntry read(DataInputStream is) throws IOException {
+            return new PlayerEntry(is.readLong(), is.readLong(), is.readLong(), is.readInt(),
+                    is.readInt(), is.readInt(), is.readInt());
+        }
+    }
+
+    /**
+     * Aggregated results of one player.
+     */
+    public static class PlayerStatistics {
+        private int gamesCount;
+        private int winsCount;
+        private long totalScore;
+        private long wordsCount;
+        private long lettersCount;
+
+        private void add(PlayerEntry entry) {
+            gamesCount++;
+            if ((entry.flags & FLAG_WINNER) != 0) winsCount++;
+            totalScore += entry.score;
+            wordsCount += entry.wordsCount;
+            lettersCount += entry.lettersCount;
+        }
+
+        public int getGamesCount() {
+            return gamesCount;
+        }
+
+        public int getWinsCount() {
+            return winsCount;
+        }
+
+        public long getTotalScore() {
+            return totalScore;
+        }
+
+        public long getWordsCount() {
+            return wordsCount;
+        }
+
+        /**
+         * Getter for the part of games player won
+         *
+         * @return win rate from 0 to 1, 0 if player has no games
+         */
+        public double getWinRate() {
+            return gamesCount == 0 ? 0 : (double) winsCount / gamesCount;
+        }
+
+        /**
+         * Getter for the average score per game
+         *
+         * @return average score, 0 if player has no games
+         */
+        public double getAverageScore() {
+            return gamesCount == 0 ? 0 : (double) totalScore / gamesCount;
+        }
+
+        /**
+         * Getter for the average length of player words
+         *
+         * @return average word length, 0 if player has no words
+         */
+        public double getAverageWordLength() {
+            return wordsCount == 0 ? 0 : (double) lettersCount / wordsCount;
+        }
+    }
+}
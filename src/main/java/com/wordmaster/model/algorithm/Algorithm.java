@@ -1,14 +1,24 @@
 package com.wordmaster.model.algorithm;
 
+import com.wordmaster.gui.i18n.Alphabet;
 import com.wordmaster.model.GameField;
 import com.wordmaster.model.Move;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
-import java.util.Random;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.BooleanSupplier;
 
 /**
- * Performs game move calculations.
+ * Performs game move calculations. Words of the vocabulary trees and
+ * of the current user dictionary trees are valid, banned words are not.
  *
  * @author Mike
  * @version  1.0
@@ -16,12 +26,34 @@ import java.util.Random;
 public class Algorithm {
     private PrefixTree prefixTree;
     private ReversedPrefixTree reversedPrefixTree;
+    private Vocabulary vocabulary;
     private GameField gameField;
+    private CrossChecks crossChecks;
 
     public Algorithm(GameField gameField, Vocabulary vocabulary) {
         this.gameField = gameField;
+        this.vocabulary = vocabulary;
         prefixTree = vocabulary.getPrefixTree();
         reversedPrefixTree = vocabulary.getReversedPrefixTree();
+        crossChecks = new CrossChecks(gameField, prefixTree, reversedPrefixTree);
+    }
+
+    private Algorithm(GameField gameField, Algorithm algorithm) {
+        this.gameField = gameField;
+        vocabulary = algorithm.vocabulary;
+        prefixTree = algorithm.prefixTree;
+        reversedPrefixTree = algorithm.reversedPrefixTree;
+        crossChecks = new CrossChecks(gameField, prefixTree, reversedPrefixTree);
+    }
+
+    /**
+     * Creates algorithm for another game field, vocabulary trees are shared.
+     *
+     * @param gameField game field to calculate moves on
+     * @return algorithm for the game field
+     */
+    public Algorithm forField(GameField gameField) {
+        return new Algorithm(gameField, this);
     }
 
     /**
@@ -31,9 +63,7 @@ public class Algorithm {
      * @return true if move is valid, false otherwise
      */
     public boolean validateMove(Move move) {
-        String suggestion = move.getResultWordAsString(gameField);
-        PrefixTree searchResult = prefixTree.goTo(suggestion);
-        return searchResult != null && searchResult.isEnd();
+        return vocabulary.containsWord(move.getResultWordAsString(gameField));
     }
 
     /**
@@ -43,47 +73,134 @@ public class Algorithm {
      */
     public List<Move> generateMoves() {
         List<Move> suggestions = new LinkedList<>();
-        gameField.getAvailableCells().forEach((GameField.Cell cell) -> {
+        generateMoves(suggestions::add, () -> false);
+        return suggestions;
+    }
+
+    /**
+     * Generates available moves one by one, each move is passed to the
+     * callback as soon as it is found. Generation stops as soon as it
+     * is cancelled.
+     *
+     * @param callback      callback to call for each generated move
+     * @param isCancelled   checked between target cells and letters
+     */
+    public void generateMoves(MoveGeneratedCallback callback, BooleanSupplier isCancelled) {
+        generateMoves(callback, isCancelled, null);
+    }
+
+    /**
+     * Generates available moves one by one. If the order generator is
+     * specified, target cells, their letters and the moves of each cell
+     * letter are taken in the random order, so generation stopped early
+     * does not prefer the top cells, the first letters of the alphabet
+     * and the words found first in the trees.
+     *
+     * @param callback      callback to call for each generated move
+     * @param isCancelled   checked between target cells and letters
+     * @param order         generator of the cells and letters order, may be null
+     */
+    public void generateMoves(MoveGeneratedCallback callback, BooleanSupplier isCancelled,
+                              SplittableRandom order) {
+        UserDictionary userDictionary = vocabulary.getUserDictionary();
+        boolean hasAddedWords = userDictionary.hasAddedWords();
+        boolean hasBannedWords = userDictionary.hasBannedWords();
+        Alphabet alphabet = reversedPrefixTree.getAlphabet();
+        long[] lettersMasks = crossChecks.getLettersMasks(userDictionary);
+        List<GameField.Cell> availableCells = new ArrayList<>(gameField.getAvailableCells());
+        if (order != null) {
+            shuffle(availableCells, order);
+        }
+        for (GameField.Cell cell : availableCells) {
             // consider this cell is target
+            long lettersMask = lettersMasks[cell.getY() * GameField.FIELD_WIDTH + cell.getX()];
 
-            for (char c : reversedPrefixTree.getSubNodesKeys()) {
+            // only letters, which can be near any letter around the cell
+            int[] letterIndexes = new int[Long.bitCount(lettersMask)];
+            for (int i = 0; lettersMask != 0; lettersMask &= lettersMask - 1) {
+                letterIndexes[i++] = Long.numberOfTrailingZeros(lettersMask);
+            }
+            if (order != null) {
+                for (int i = letterIndexes.length - 1; i > 0; i--) {
+                    int j = order.nextInt(i + 1);
+                    int letterIndex = letterIndexes[i];
+                    letterIndexes[i] = letterIndexes[j];
+                    letterIndexes[j] = letterIndex;
+                }
+            }
+            for (int letterIndex : letterIndexes) {
+                if (isCancelled.getAsBoolean()) return;
                 // consider you wish to insert this char
-//                if (!reversedPrefixTree.getSubNodesKeys().contains(c)) continue;
+                char c = alphabet.getLetter(letterIndex);
 
                 // first, get all valid reversed begins
                 List<GameField.Word> reversedWordBegins = new LinkedList<>();
                 GameField.Word wordFromCurrentCell = new GameField.Word();
                 wordFromCurrentCell.pushLetter(cell);
-                findTreeValueNodes(reversedPrefixTree.goTo(c),
+                findTreeValueNodes(reversedPrefixTree.goToIndex(letterIndex),
                                     reversedWordBegins, wordFromCurrentCell);
+                if (hasAddedWords) {
+                    findTreeValueNodes(userDictionary.getReversedPrefixTree().goToIndex(letterIndex),
+                            reversedWordBegins, wordFromCurrentCell);
+                    removeSamePaths(reversedWordBegins);
+                }
 
                 // second, try to find word by them beginning
                 List<GameField.Word> validWords = new LinkedList<>();
+                List<PrefixTree> validWordNodes = new LinkedList<>();
                 reversedWordBegins.forEach((GameField.Word word) -> {
                     word.reverse();
-                    findTreeValueNodes(prefixTree.goTo(word.fillGap(c)), validWords, word);
+                    String wordBegin = word.fillGap(c);
+                    findTreeValueNodes(prefixTree.goTo(wordBegin), validWords, validWordNodes, word);
+                    if (hasAddedWords) {
+                        findTreeValueNodes(userDictionary.getPrefixTree().goTo(wordBegin),
+                                validWords, validWordNodes, word);
+                    }
                 });
                 // add move
+                List<Move> suggestions = new ArrayList<>(validWords.size());
+                Iterator<PrefixTree> validWordNode = validWordNodes.iterator();
                 validWords.forEach((GameField.Word validWord) -> {
-                    boolean alreadyUsed = false;
-                    for (Move m : suggestions) {
-                        if (m.getResultWord(gameField).equals(validWord)) {
-                            alreadyUsed = true;
-                            break;
-                        }
-                    }
-                    if (alreadyUsed) return;
+                    int wordId = validWordNode.next().getWordId();
+                    if (hasBannedWords && userDictionary.isBanned(validWord.fillGap(c))) return;
                     Move suggestion = new Move();
                     suggestion.setResultWord(validWord);
                     suggestion.setCell(cell);
                     suggestion.setNewCellValue(c);
                     suggestion.setPrevCellValue(cell.getValue());
+                    suggestion.setWordId(wordId);
                     suggestions.add(suggestion);
                 });
+                if (order != null) {
+                    shuffle(suggestions, order);
+                }
+                suggestions.forEach(callback::onMove);
             }
-        });
+        }
         // that's all
-        return suggestions;
+    }
+
+    /**
+     * Helper method that shuffles the list by the specified generator.
+     *
+     * @param list   list to shuffle
+     * @param order  generator of the order
+     */
+    private static <T> void shuffle(List<T> list, SplittableRandom order) {
+        for (int i = list.size() - 1; i > 0; i--) {
+            list.set(i, list.set(order.nextInt(i + 1), list.get(i)));
+        }
+    }
+
+    /**
+     * Helper method that removes words with the same cells path, found
+     * both in vocabulary and user dictionary trees.
+     *
+     * @param words words to filter
+     */
+    private void removeSamePaths(List<GameField.Word> words) {
+        Set<String> paths = new HashSet<>();
+        words.removeIf((GameField.Word word) -> !paths.add(Arrays.deepToString(word.toArray())));
     }
 
     /**
@@ -97,22 +214,67 @@ public class Algorithm {
      */
     private void findTreeValueNodes(PrefixTree tree, List<GameField.Word> result,
                                     GameField.Word currentWord) {
+        findTreeValueNodes(tree, result, null, currentWord);
+    }
+
+    /**
+     * Helper method that finds all the words in tree, that
+     * can be created from current word, together with their tree nodes.
+     * Current word must contain at least one letter.
+     *
+     * @param tree  tree to find words from
+     * @param result    list in which results will accumulate
+     * @param resultNodes   list in which nodes of the results will accumulate, may be null
+     * @param currentWord   word to start from
+     */
+    private void findTreeValueNodes(PrefixTree tree, List<GameField.Word> result,
+                                    List<PrefixTree> resultNodes, GameField.Word currentWord) {
         if (currentWord.getLastLetter() == null) return;
         if (tree == null) return;
         if (tree.isEnd()) {
             result.add(currentWord.copy());
+            if (resultNodes != null) {
+                resultNodes.add(tree);
+            }
         }
 
         currentWord.getLastLetter().getNearCells().forEach((GameField.Cell nearCell) -> {
-            if (tree.getSubNodesKeys().contains(nearCell.getValue())
-                && !currentWord.contains(nearCell)) {
+            PrefixTree subTree = tree.goTo(nearCell.getValue());
+            if (subTree != null && !currentWord.contains(nearCell)) {
                 currentWord.pushLetter(nearCell);
-                findTreeValueNodes(tree.goTo(nearCell.getValue()), result, currentWord);
+                findTreeValueNodes(subTree, result, resultNodes, currentWord);
                 currentWord.popLetter();
             }
         });
     }
 
+    /**
+     * Finds the best move of the current player in the two players
+     * endgame by the exhaustive search, see <code>EndgameSolver</code>.
+     *
+     * @param moves         all the moves available to the current player
+     * @param usedWords     words which were already used in the game
+     * @param nodesBudget   number of search nodes to visit before giving up
+     * @return the best move or null if position cannot be solved within budget
+     *         or user dictionary changes the vocabulary words
+     */
+    public Move solveEndgame(List<Move> moves, Collection<String> usedWords, long nodesBudget) {
+        UserDictionary userDictionary = vocabulary.getUserDictionary();
+        if (userDictionary.hasAddedWords() || userDictionary.hasBannedWords()) return null;
+        return new EndgameSolver(prefixTree, reversedPrefixTree, gameField, nodesBudget)
+                .solve(moves, usedWords);
+    }
+
+    /**
+     * Returns the rarity of the move word.
+     *
+     * @param move generated move
+     * @return word rarity or <code>Vocabulary.UNKNOWN_RARITY</code> if word is not from vocabulary
+     */
+    public int getWordRarity(Move move) {
+        return vocabulary.getRarity(move.getWordId());
+    }
+
     /**
      * Generates words, that are different from specified 'without list'.
      *
@@ -120,17 +282,43 @@ public class Algorithm {
      * @return list on generated words
      */
     public List<Move> generateWithout(List<String> withoutList) {
-        List<Move> suggestions = generateMoves();
-        if (withoutList == null) return suggestions;
+        if (withoutList == null) return generateMoves();
         List<Move> suggestionsWithout = new LinkedList<>();
-        suggestions.forEach((Move move) -> {
-            if (!withoutList.contains(move.getResultWordAsString(gameField))) {
-                suggestionsWithout.add(move);
-            }
-        });
+        generateWithout(new HashSet<>(withoutList), suggestionsWithout::add, () -> false);
         return suggestionsWithout;
     }
 
+    /**
+     * Generates moves one by one, skipping moves which words are
+     * in the specified set.
+     *
+     * @param withoutWords  words that should not be generated
+     * @param callback      callback to call for each generated move
+     * @param isCancelled   checked between target cells and letters
+     */
+    public void generateWithout(Set<String> withoutWords, MoveGeneratedCallback callback,
+                                BooleanSupplier isCancelled) {
+        generateWithout(withoutWords, callback, isCancelled, null);
+    }
+
+    /**
+     * Generates moves one by one in the random order, skipping moves
+     * which words are in the specified set.
+     *
+     * @param withoutWords  words that should not be generated
+     * @param callback      callback to call for each generated move
+     * @param isCancelled   checked between target cells and letters
+     * @param order         generator of the cells and letters order, may be null
+     */
+    public void generateWithout(Set<String> withoutWords, MoveGeneratedCallback callback,
+                                BooleanSupplier isCancelled, SplittableRandom order) {
+        generateMoves((Move move) -> {
+            if (!withoutWords.contains(move.getResultWordAsString(gameField))) {
+                callback.onMove(move);
+            }
+        }, isCancelled, order);
+    }
+
     /**
      * Allows to run move generator in additional thread with
      * calling callback after computation result.
@@ -142,7 +330,7 @@ public class Algorithm {
         new Thread(()-> {
             List<Move> suggestions = generateWithout(withoutList);
             if (suggestions.size() > 0) {
-                int pos = new Random().nextInt(suggestions.size()-1);
+                int pos = ThreadLocalRandom.current().nextInt(suggestions.size());
                 callback.onMove(suggestions.get(pos));
             } else {
                 callback.onMove(null);
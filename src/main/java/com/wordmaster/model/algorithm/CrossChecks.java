@@ -0,0 +1,122 @@
+package com.wordmaster.model.algorithm;
+
+import com.wordmaster.gui.i18n.Alphabet;
+import com.wordmaster.model.GameField;
+
+/**
+ * Letters, which can be put into each empty cell of the game field.
+ * Letter can be put only if it can be near one of the letters around
+ * the cell in some vocabulary word. Letter sets are kept between move
+ * generations and only the changed cells and cells around them are
+ * checked again, changes are found by comparing the field with the
+ * values the sets were computed for.
+ *
+ * @author Mike
+ * @version 1.0
+ */
+class CrossChecks {
+    private final GameField gameField;
+    private final PrefixTree prefixTree;
+    private final ReversedPrefixTree reversedPrefixTree;
+    private final Alphabet alphabet;
+    private final char[] knownValues = new char[GameField.FIELD_WIDTH * GameField.FIELD_HEIGHT];
+    private final long[] lettersMasks = new long[GameField.FIELD_WIDTH * GameField.FIELD_HEIGHT];
+    private long[] nearLettersMasks;
+    private UserDictionary userDictionary;
+
+    CrossChecks(GameField gameField, PrefixTree prefixTree, ReversedPrefixTree reversedPrefixTree) {
+        this.gameField = gameField;
+        this.prefixTree = prefixTree;
+        this.reversedPrefixTree = reversedPrefixTree;
+        alphabet = reversedPrefixTree.getAlphabet();
+    }
+
+    /**
+     * Brings letter sets up to date with the field and returns them.
+     * All the sets are checked again if user dictionary was changed.
+     *
+     * @param currentUserDictionary current vocabulary user dictionary
+     * @return copy of the letter masks by cell index <code>y * FIELD_WIDTH + x</code>
+     */
+    synchronized long[] getLettersMasks(UserDictionary currentUserDictionary) {
+        if (currentUserDictionary != userDictionary) {
+            userDictionary = currentUserDictionary;
+            nearLettersMasks = getNearLettersMasks();
+            for (int index = 0; index < knownValues.length; index++) {
+                knownValues[index] = getCell(index).getValue();
+            }
+            for (int index = 0; index < knownValues.length; index++) {
+                updateCell(getCell(index));
+            }
+        } else {
+            for (int index = 0; index < knownValues.length; index++) {
+                GameField.Cell cell = getCell(index);
+                if (cell.getValue() != knownValues[index]) {
+                    knownValues[index] = cell.getValue();
+                    updateCell(cell);
+                    cell.getNearCells().forEach(this::updateCell);
+                }
+            }
+        }
+        return lettersMasks.clone();
+    }
+
+    private GameField.Cell getCell(int index) {
+        return gameField.getCell(index % GameField.FIELD_WIDTH, index / GameField.FIELD_WIDTH);
+    }
+
+    private void updateCell(GameField.Cell cell) {
+        int index = cell.getY() * GameField.FIELD_WIDTH + cell.getX();
+        if (!cell.isEmpty()) {
+            lettersMasks[index] = 0;
+            return;
+        }
+        long cellNearLettersMask = 0;
+        for (GameField.Cell nearCell : cell.getNearCells()) {
+            int letterIndex = alphabet.indexOf(nearCell.getValue());
+            if (letterIndex != Alphabet.NO_INDEX) {
+                cellNearLettersMask |= 1L << letterIndex;
+            }
+        }
+        long mask = 0;
+        if (cellNearLettersMask != 0) {
+            for (int letterIndex = 0; letterIndex < nearLettersMasks.length; letterIndex++) {
+                if ((nearLettersMasks[letterIndex] & cellNearLettersMask) != 0) {
+                    mask |= 1L << letterIndex;
+                }
+            }
+        }
+        lettersMasks[index] = mask;
+    }
+
+    /**
+     * Finds for each letter the letters, which can be near it in any
+     * word: the previous letters from the reversed tree and the second
+     * letters of words starting with it. Letter, which is a word itself,
+     * can be near any letter.
+     *
+     * @return masks of near letters by the letter index
+     */
+    private long[] getNearLettersMasks() {
+        long[] masks = new long[alphabet.size()];
+        addNearLettersMasks(prefixTree, reversedPrefixTree, masks);
+        if (userDictionary.hasAddedWords()) {
+            addNearLettersMasks(userDictionary.getPrefixTree(), userDictionary.getReversedPrefixTree(), masks);
+        }
+        return masks;
+    }
+
+    private void addNearLettersMasks(PrefixTree prefixTree, ReversedPrefixTree reversedPrefixTree,
+                                     long[] masks) {
+        for (int letterIndex = 0; letterIndex < masks.length; letterIndex++) {
+            PrefixTree reversedNode = reversedPrefixTree.goToIndex(letterIndex);
+            if (reversedNode != null) {
+                masks[letterIndex] |= reversedNode.getSubNodesMask();
+            }
+            PrefixTree node = prefixTree.goToIndex(letterIndex);
+            if (node != null) {
+                masks[letterIndex] |= node.isEnd() ? -1L : node.getSubNodesMask();
+            }
+        }
+    }
+}
@@ -0,0 +1,440 @@
+package com.wordmaster.model.algorithm;
+
+import com.wordmaster.gui.i18n.Alphabet;
+import com.wordmaster.model.GameField;
+import com.wordmaster.model.Move;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+/**
+ * Exact solver of the two players endgame. Searches the whole game
+ * tree with alpha-beta pruning and finds the move which maximizes the
+ * final score difference with the opponent.
+ * <p>
+ * Board is kept as the array of letter indexes and is changed by
+ * make/unmake of the moves, so the search allocates nothing per node.
+ * Moves to the same cell with the same letter and word lead to the same
+ * position, so they are searched once, whatever the word path is.
+ * Positions are memoized in the transposition table keyed by the
+ * zobrist hash of the board letters and the used words. Moves of the
+ * board are generated once and cached by the board hash, as the same
+ * board is reached with different used words.
+ * <p>
+ * Search is stopped when it visits more nodes than the budget, the
+ * solver result is unknown then.
+ *
+ * @author Mike
+ * @version 1.0
+ */
+public class EndgameSolver {
+    /**
+     * Maximum number of the available cells to start solving
+     */
+    public static final int MAX_FRONTIER_SIZE = 5;
+    /**
+     * Default number of search nodes to visit before giving up
+     */
+    public static final long DEFAULT_NODES_BUDGET = 500000;
+
+    private static final int CELLS = GameField.FIELD_WIDTH * GameField.FIELD_HEIGHT;
+    private static final int EMPTY = -1;
+    private static final int NO_LETTER = Alphabet.MAX_SIZE;
+    private static final int INFINITY = 1 << 20;
+    private static final int EXACT = 0;
+    private static final int LOWER = 1;
+    private static final int UPPER = 2;
+    private static final int TABLE_BITS = 18;
+    private static final int CACHE_BITS = 14;
+    private static final int[][] NEAR_CELLS = new int[CELLS][];
+    private static final long[] ZOBRIST = new long[CELLS * Alphabet.MAX_SIZE];
+
+    static {
+        for (int cell = 0; cell < CELLS; cell++) {
+            int x = cell % GameField.FIELD_WIDTH;
+            int y = cell / GameField.FIELD_WIDTH;
+            List<Integer> near = new ArrayList<>(4);
+            if (x > 0) near.add(cell - 1);
+            if (x < GameField.FIELD_WIDTH - 1) near.add(cell + 1);
+            if (y > 0) near.add(cell - GameField.FIELD_WIDTH);
+            if (y < GameField.FIELD_HEIGHT - 1) near.add(cell + GameField.FIELD_WIDTH);
+            NEAR_CELLS[cell] = near.stream().mapToInt(Integer::intValue).toArray();
+        }
+        SplittableRandom random = new SplittableRandom(0x5EED);
+        for (int i = 0; i < ZOBRIST.length; i++) {
+            ZOBRIST[i] = random.nextLong();
+        }
+    }
+
+    private final PrefixTree prefixTree;
+    private final ReversedPrefixTree reversedPrefixTree;
+    private final Alphabet alphabet;
+    private final GameField gameField;
+    private final long nodesBudget;
+
+    private final long[] nearLettersMasks;
+    private final int[] board = new int[CELLS];
+    private final BitSet usedWords = new BitSet();
+    private long boardHash;
+    private long hash;
+    private long nodesCount;
+    private boolean aborted;
+
+    private final long[] tableKeys = new long[1 << TABLE_BITS];
+    private final int[] tableEntries = new int[1 << TABLE_BITS];
+    private final long[] cacheKeys = new long[1 << CACHE_BITS];
+    private final int[][] cacheMoves = new int[1 << CACHE_BITS][];
+
+    // moves of all the searched positions, each position pushes its moves on top
+    private int[] moveCells = new int[256];
+    private int[] moveLetters = new int[256];
+    private int[] moveWords = new int[256];
+    private int[] moveLengths = new int[256];
+    private int movesTop;
+    private final int[] path = new int[CELLS];
+
+    /**
+     * Creates solver for the game field position.
+     *
+     * @param prefixTree            vocabulary tree
+     * @param reversedPrefixTree    reversed vocabulary tree
+     * @param gameField             game field, must not be changed during solving
+     * @param nodesBudget           number of search nodes to visit before giving up
+     */
+    EndgameSolver(PrefixTree prefixTree, ReversedPrefixTree reversedPrefixTree,
+                  GameField gameField, long nodesBudget) {
+        this.prefixTree = prefixTree;
+        this.reversedPrefixTree = reversedPrefixTree;
+        this.gameField = gameField;
+        this.nodesBudget = nodesBudget;
+        alphabet = prefixTree.getAlphabet();
+        nearLettersMasks = new long[alphabet.size()];
+        for (int letterIndex = 0; letterIndex < nearLettersMasks.length; letterIndex++) {
+            PrefixTree reversedNode = reversedPrefixTree.goToIndex(letterIndex);
+            if (reversedNode != null) {
+                nearLettersMasks[letterIndex] |= reversedNode.getSubNodesMask();
+            }
+            PrefixTree node = prefixTree.goToIndex(letterIndex);
+            if (node != null) {
+                nearLettersMasks[letterIndex] |= node.isEnd() ? -1L : node.getSubNodesMask();
+            }
+        }
+        for (int cell = 0; cell < CELLS; cell++) {
+            GameField.Cell fieldCell = gameField.getCell(cell % GameField.FIELD_WIDTH,
+                    cell / GameField.FIELD_WIDTH);
+            if (fieldCell.isEmpty()) {
+                board[cell] = EMPTY;
+            } else {
+                int letterIndex = alphabet.indexOf(fieldCell.getValue());
+                board[cell] = letterIndex == Alphabet.NO_INDEX ? NO_LETTER : letterIndex;
+            }
+        }
+    }
+
+    /**
+     * Checks if position is small enough to be solved.
+     *
+     * @param gameField game field
+     * @return true if there are few available cells
+     */
+    public static boolean isEndgame(GameField gameField) {
+        return gameField.getAvailableCells().size() <= MAX_FRONTIER_SIZE;
+    }
+
+    /**
+     * Finds the best move of the current player.
+     *
+     * @param moves     all the moves available to the current player
+     * @param usedWords words which were already used in the game
+     * @return the best move or null if there are no moves, some of them are
+     *         not from vocabulary or search is out of nodes budget
+     */
+    Move solve(List<Move> moves, Collection<String> usedWords) {
+        for (String word : usedWords) {
+            PrefixTree node = prefixTree.goTo(word);
+            if (node != null && node.getWordId() >= 0) {
+                this.usedWords.set(node.getWordId());
+            }
+        }
+        List<Move> rootMoves = new ArrayList<>();
+        Set<Long> rootPositions = new HashSet<>();
+        for (Move move : moves) {
+            int letterIndex = alphabet.indexOf(move.getNewCellValue());
+            if (move.getWordId() < 0 || letterIndex == Alphabet.NO_INDEX) return null;
+            int cell = getCellIndex(move.getCell(gameField));
+            if (rootPositions.add(((long) move.getWordId() << 16) | (cell << 8) | letterIndex)) {
+                rootMoves.add(move);
+            }
+        }
+        rootMoves.sort((Move a, Move b) -> b.getResultWordSize() - a.getResultWordSize());
+
+        Move bestMove = null;
+        int best = -INFINITY;
+        for (Move move : rootMoves) {
+            int cell = getCellIndex(move.getCell(gameField));
+            int letterIndex = alphabet.indexOf(move.getNewCellValue());
+            int length = move.getResultWordSize();
+            makeMove(cell, letterIndex, move.getWordId());
+            int value = length - search(length - INFINITY, length - best);
+            unmakeMove(cell, letterIndex, move.getWordId());
+            if (aborted) return null;
+            if (value > best) {
+                best = value;
+                bestMove = move;
+            }
+        }
+        return bestMove;
+    }
+
+    /**
+     * Getter for the number of visited search nodes
+     *
+     * @return nodes count
+     */
+    long getNodesCount() {
+        return nodesCount;
+    }
+
+    /**
+     * Searches the position with the alpha-beta window.
+     *
+     * @return score difference the player to move gets till the game end
+     */
+    private int search(int alpha, int beta) {
+        if (++nodesCount > nodesBudget) {
+            aborted = true;
+            return 0;
+        }
+        int slot = (int) (hash ^ (hash >>> 32)) & ((1 << TABLE_BITS) - 1);
+        if (tableKeys[slot] == hash) {
+            int entry = tableEntries[slot];
+            int value = entry >> 2;
+            int bound = entry & 3;
+            if (bound == EXACT
+                    || (bound == LOWER && value >= beta)
+                    || (bound == UPPER && value <= alpha)) {
+                return value;
+            }
+        }
+
+        int movesStart = movesTop;
+        pushPositionMoves();
+        int movesEnd = movesTop;
+        int best = 0;
+        if (movesStart != movesEnd) {
+            int alphaStart = alpha;
+            best = -INFINITY;
+            for (int i = movesStart; i < movesEnd && alpha < beta; i++) {
+                int cell = moveCells[i];
+                int letterIndex = moveLetters[i];
+                int wordId = moveWords[i];
+                int length = moveLengths[i];
+                makeMove(cell, letterIndex, wordId);
+                int value = length - search(length - beta, length - alpha);
+                unmakeMove(cell, letterIndex, wordId);
+                if (aborted) {
+                    movesTop = movesStart;
+                    return 0;
+                }
+                if (value > best) best = value;
+                if (best > alpha) alpha = best;
+            }
+            int bound = best <= alphaStart ? UPPER : best >= beta ? LOWER : EXACT;
+            tableKeys[slot] = hash;
+            tableEntries[slot] = (best << 2) | bound;
+        } else {
+            tableKeys[slot] = hash;
+            tableEntries[slot] = EXACT;
+        }
+        movesTop = movesStart;
+        return best;
+    }
+
+    private static int getCellIndex(GameField.Cell cell) {
+        return cell.getY() * GameField.FIELD_WIDTH + cell.getX();
+    }
+
+    private void makeMove(int cell, int letterIndex, int wordId) {
+        board[cell] = letterIndex;
+        usedWords.set(wordId);
+        boardHash ^= ZOBRIST[cell * Alphabet.MAX_SIZE + letterIndex];
+        hash ^= ZOBRIST[cell * Alphabet.MAX_SIZE + letterIndex] ^ wordKey(wordId);
+    }
+
+    private void unmakeMove(int cell, int letterIndex, int wordId) {
+        board[cell] = EMPTY;
+        usedWords.clear(wordId);
+        boardHash ^= ZOBRIST[cell * Alphabet.MAX_SIZE + letterIndex];
+        hash ^= ZOBRIST[cell * Alphabet.MAX_SIZE + letterIndex] ^ wordKey(wordId);
+    }
+
+    private static long wordKey(int wordId) {
+        long key = (wordId + 1L) * 0x9E3779B97F4A7C15L;
+        key = (key ^ (key >>> 30)) * 0xBF58476D1CE4E5B9L;
+        return key ^ (key >>> 31);
+    }
+
+    /**
+     * Pushes the moves of the position with not used words to the moves
+     * stack, longest words first. Moves of the board are taken from the
+     * cache or generated and cached.
+     */
+    private void pushPositionMoves() {
+        int slot = (int) (boardHash ^ (boardHash >>> 32)) & ((1 << CACHE_BITS) - 1);
+        int[] moves = cacheMoves[slot];
+        if (moves == null || cacheKeys[slot] != boardHash) {
+            int movesStart = movesTop;
+            generateMoves();
+            sortMoves(movesStart, movesTop);
+            moves = new int[(movesTop - movesStart) * 4];
+            for (int i = movesStart, j = 0; i < movesTop; i++, j += 4) {
+                moves[j] = moveCells[i];
+                moves[j + 1] = moveLetters[i];
+                moves[j + 2] = moveWords[i];
+                moves[j + 3] = moveLengths[i];
+            }
+            movesTop = movesStart;
+            cacheKeys[slot] = boardHash;
+            cacheMoves[slot] = moves;
+        }
+        for (int j = 0; j < moves.length; j += 4) {
+            if (!usedWords.get(moves[j + 2])) {
+                pushMove(moves[j], moves[j + 1], moves[j + 2], moves[j + 3]);
+            }
+        }
+    }
+
+    /**
+     * Pushes all the moves of the board to the moves stack,
+     * the same way as <code>Algorithm</code> generates them: word
+     * beginning is found backward from the target cell by the reversed
+     * tree, then it is continued forward by the vocabulary tree.
+     */
+    private void generateMoves() {
+        for (int cell = 0; cell < CELLS; cell++) {
+            if (board[cell] != EMPTY) continue;
+            long cellNearLettersMask = getNearLettersMask(cell);
+            if (cellNearLettersMask == 0) continue;
+            for (int letterIndex = 0; letterIndex < nearLettersMasks.length; letterIndex++) {
+                // letter must be near one of the letters around the cell in some word
+                if ((nearLettersMasks[letterIndex] & cellNearLettersMask) == 0) continue;
+                PrefixTree reversedNode = reversedPrefixTree.goToIndex(letterIndex);
+                if (reversedNode == null) continue;
+                board[cell] = letterIndex;
+                path[0] = cell;
+                int cellMovesStart = movesTop;
+                findBeginnings(reversedNode, cell, 1L << cell, 1, cellMovesStart);
+                board[cell] = EMPTY;
+            }
+        }
+    }
+
+    private long getNearLettersMask(int cell) {
+        long mask = 0;
+        for (int nearCell : NEAR_CELLS[cell]) {
+            if (board[nearCell] != EMPTY && board[nearCell] != NO_LETTER) {
+                mask |= 1L << board[nearCell];
+            }
+        }
+        return mask;
+    }
+
+    private void findBeginnings(PrefixTree node, int lastCell, long visited, int length,
+                                int cellMovesStart) {
+        if (node.isEnd()) {
+            PrefixTree beginning = prefixTree;
+            for (int i = length - 1; i >= 0 && beginning != null; i--) {
+                beginning = beginning.goToIndex(board[path[i]]);
+            }
+            if (beginning != null) {
+                findEndings(beginning, path[0], visited, length, cellMovesStart);
+            }
+        }
+        for (int nearCell : NEAR_CELLS[lastCell]) {
+            int letterIndex = board[nearCell];
+            if (letterIndex == EMPTY || letterIndex == NO_LETTER || (visited & (1L << nearCell)) != 0) {
+                continue;
+            }
+            PrefixTree subNode = node.goToIndex(letterIndex);
+            if (subNode != null) {
+                path[length] = nearCell;
+                findBeginnings(subNode, nearCell, visited | (1L << nearCell), length + 1, cellMovesStart);
+            }
+        }
+    }
+
+    private void findEndings(PrefixTree node, int lastCell, long visited, int length,
+                             int cellMovesStart) {
+        if (node.isEnd()) {
+            addWord(node.getWordId(), length, cellMovesStart);
+        }
+        for (int nearCell : NEAR_CELLS[lastCell]) {
+            int letterIndex = board[nearCell];
+            if (letterIndex == EMPTY || letterIndex == NO_LETTER || (visited & (1L << nearCell)) != 0) {
+                continue;
+            }
+            PrefixTree subNode = node.goToIndex(letterIndex);
+            if (subNode != null) {
+                findEndings(subNode, nearCell, visited | (1L << nearCell), length + 1, cellMovesStart);
+            }
+        }
+    }
+
+    /**
+     * Pushes move of the word found for the current cell and letter,
+     * unless the same word is already pushed for them.
+     */
+    private void addWord(int wordId, int length, int cellMovesStart) {
+        if (wordId < 0) return;
+        for (int i = cellMovesStart; i < movesTop; i++) {
+            if (moveWords[i] == wordId) return;
+        }
+        pushMove(path[0], board[path[0]], wordId, length);
+    }
+
+    private void pushMove(int cell, int letterIndex, int wordId, int length) {
+        if (movesTop == moveCells.length) {
+            int capacity = movesTop * 2;
+            moveCells = Arrays.copyOf(moveCells, capacity);
+            moveLetters = Arrays.copyOf(moveLetters, capacity);
+            moveWords = Arrays.copyOf(moveWords, capacity);
+            moveLengths = Arrays.copyOf(moveLengths, capacity);
+        }
+        moveCells[movesTop] = cell;
+        moveLetters[movesTop] = letterIndex;
+        moveWords[movesTop] = wordId;
+        moveLengths[movesTop] = length;
+        movesTop++;
+    }
+
+    /**
+     * Sorts moves by word length descending, long words are usually
+     * the best and make pruning faster.
+     */
+    private void sortMoves(int from, int to) {
+        for (int i = from + 1; i < to; i++) {
+            int cell = moveCells[i];
+            int letterIndex = moveLetters[i];
+            int wordId = moveWords[i];
+            int length = moveLengths[i];
+            int j = i - 1;
+            while (j >= from && moveLengths[j] < length) {
+                moveCells[j + 1] = moveCells[j];
+                moveLetters[j + 1] = moveLetters[j];
+                moveWords[j + 1] = moveWords[j];
+                moveLengths[j + 1] = moveLengths[j];
+                j--;
+            }
+            moveCells[j + 1] = cell;
+            moveLetters[j + 1] = letterIndex;
+            moveWords[j + 1] = wordId;
+            moveLengths[j + 1] = length;
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.wordmaster.model.algorithm;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/**
+ * Walks the prefix tree in depth and yields words matching the pattern
+ * one by one. Subtrees, which cannot contain matching words, are not
+ * visited: fixed letters are followed directly and the walk never goes
+ * deeper than the maximal pattern length.
+ *
+ * @author Mike
+ * @version 1.0
+ */
+class PatternSpliterator implements Spliterator<String> {
+    private final WordPattern pattern;
+    private final Deque<Frame> stack = new ArrayDeque<>();
+
+    PatternSpliterator(PrefixTree root, WordPattern pattern) {
+        this.pattern = pattern;
+        stack.push(new Frame(root, 0));
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super String> action) {
+        while (!stack.isEmpty()) {
+            Frame frame = stack.peek();
+            if (!frame.visited) {
+                frame.visited = true;
+                if (frame.node.isEnd() && frame.depth >= pattern.getMinLength()) {
+                    action.accept(frame.node.getValue());
+                    return true;
+                }
+            }
+            PrefixTree child = frame.nextChild();
+            if (child == null) {
+                stack.pop();
+            } else {
+                stack.push(new Frame(child, frame.depth + 1));
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public Spliterator<String> trySplit() {
+        return null;
+    }
+
+    @Override
+    public long estimateSize() {
+        return Long.MAX_VALUE;
+    }
+
+    @Override
+    public int characteristics() {
+        return DISTINCT | NONNULL | IMMUTABLE;
+    }
+
+    /**
+     * Visited tree node with the iterator over its allowed children.
+     */
+    private class Frame {
+        private final PrefixTree node;
+        private final int depth;
+        private boolean visited = false;
+        private int nextPosition = 0;
+        private boolean fixedChildTaken = false;
+
+        Frame(PrefixTree node, int depth) {
+            this.node = node;
+            this.depth = depth;
+        }
+
+        PrefixTree nextChild() {
+            if (depth >= pattern.getMaxLength()) return null;
+            char fixedLetter = pattern.getFixedLetter(depth);
+            if (fixedLetter != WordPattern.ANY_LETTER) {
+                if (fixedChildTaken) return null;
+                fixedChildTaken = true;
+                return node.goTo(fixedLetter);
+            }
+            if (nextPosition >= node.getSubNodesCount()) return null;
+            return node.getSubNode(nextPosition++);
+        }
+    }
+}
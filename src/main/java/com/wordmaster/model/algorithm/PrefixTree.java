@@ -1,5 +1,6 @@
 package com.wordmaster.model.algorithm;
 
+import com.wordmaster.gui.i18n.Alphabet;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -8,16 +9,32 @@ import java.util.*;
 
 /**
  * Recursive data structure to simplify algorithmic computations.
- * Each tree node contains map of subtrees and the keys of map are
- * the next word letters.
+ * Each tree node contains subtrees keyed by the alphabet indexes of
+ * the next word letters. Node keeps the bit mask of its subtrees
+ * letters, subtrees are ordered by letter index, so the position of
+ * subtree is the number of mask bits below its letter. Words with
+ * non alphabet letters are not added.
  *
  * @author Mike
  * @version 1.0
  */
 public class PrefixTree {
     private final static Logger logger = LoggerFactory.getLogger(PrefixTree.class);
-    private Map<Character, PrefixTree> subNodes = new HashMap<>();
+    private static final PrefixTree[] NO_SUB_NODES = new PrefixTree[0];
+    private final Alphabet alphabet;
+    private long subNodesMask = 0;
+    private PrefixTree[] subNodes = NO_SUB_NODES;
     private String value;
+    private int wordId = -1;
+
+    /**
+     * Creates empty tree.
+     *
+     * @param alphabet alphabet of the tree words
+     */
+    public PrefixTree(Alphabet alphabet) {
+        this.alphabet = alphabet;
+    }
 
     /**
      * Loads tree from input stream. Stream must contains several
@@ -46,9 +63,24 @@ public class PrefixTree {
      * Adds word to the tree.
      *
      * @param word word to add
+     * @return false if word has non alphabet letters and is not added
      */
-    public void addWord(String word) {
+    public boolean addWord(String word) {
+        if (!alphabet.containsAll(word)) return false;
         putNode(word, 0);
+        return true;
+    }
+
+    /**
+     * Adds word to the tree and marks its node with the word id.
+     *
+     * @param word      word to add
+     * @param wordId    vocabulary id of the word
+     */
+    void addWord(String word, int wordId) {
+        if (addWord(word)) {
+            goTo(word).wordId = wordId;
+        }
     }
 
     /**
@@ -58,12 +90,11 @@ public class PrefixTree {
      * @return  node that is located on this path and null if there is no such nodes
      */
     PrefixTree goTo(String wordPart) {
-        if (wordPart.length() > 0) {
-            if (!subNodes.containsKey(wordPart.charAt(0))) return null;
-            return subNodes.get(wordPart.charAt(0)).goTo(wordPart.substring(1));
-        } else {
-            return this;
+        PrefixTree node = this;
+        for (int i = 0; i < wordPart.length() && node != null; i++) {
+            node = node.goTo(wordPart.charAt(i));
         }
+        return node;
     }
 
     /**
@@ -73,24 +104,47 @@ public class PrefixTree {
      * @return  subtree that is located on this key and null if there is no such nodes
      */
     PrefixTree goTo(char c) {
-        return subNodes.get(c);
+        int letterIndex = alphabet.indexOf(c);
+        return letterIndex == Alphabet.NO_INDEX ? null : goToIndex(letterIndex);
+    }
+
+    /**
+     * Returns subtree by the alphabet index of its letter.
+     *
+     * @param letterIndex alphabet index of the subtree letter
+     * @return  subtree that is located on this key and null if there is no such nodes
+     */
+    PrefixTree goToIndex(int letterIndex) {
+        long letterBit = 1L << letterIndex;
+        if ((subNodesMask & letterBit) == 0) return null;
+        return subNodes[Long.bitCount(subNodesMask & (letterBit - 1))];
     }
 
     void putNode(String word, int index) {
         if (index == word.length()) {
             this.value = word;
         } else {
-            char c = word.charAt(index);
-            if (subNodes.containsKey(c)) {
-                subNodes.get(c).putNode(word, index+1);
-            } else {
-                PrefixTree subTree = buildPrefixTree();
-                subTree.putNode(word, index+1);
-                subNodes.put(c, subTree);
+            int letterIndex = alphabet.indexOf(word.charAt(index));
+            PrefixTree subTree = goToIndex(letterIndex);
+            if (subTree == null) {
+                subTree = buildPrefixTree();
+                insertSubNode(letterIndex, subTree);
             }
+            subTree.putNode(word, index+1);
         }
     }
 
+    private void insertSubNode(int letterIndex, PrefixTree subTree) {
+        long letterBit = 1L << letterIndex;
+        int position = Long.bitCount(subNodesMask & (letterBit - 1));
+        PrefixTree[] newSubNodes = new PrefixTree[subNodes.length + 1];
+        System.arraycopy(subNodes, 0, newSubNodes, 0, position);
+        newSubNodes[position] = subTree;
+        System.arraycopy(subNodes, position, newSubNodes, position + 1, subNodes.length - position);
+        subNodes = newSubNodes;
+        subNodesMask |= letterBit;
+    }
+
     /**
      * Checks if this path from root node to this one represents valid
      * vocabulary word.
@@ -107,64 +161,62 @@ public class PrefixTree {
      * @return
      */
     protected PrefixTree buildPrefixTree() {
-        return new PrefixTree();
+        return new PrefixTree(alphabet);
     }
 
     /**
-     * Goes to random subtree and returns result
+     * Getter for tree value.
      *
-     * @return random subtree
+     * @return tree node value, not null if it's valid word
      */
-    PrefixTree getRandomSubtree() {
-        if (subNodes.size() == 0) {
-            return null;
-        }
-        int randomMapElement = new Random().nextInt(subNodes.size());
-        List<PrefixTree> subNodesList = new LinkedList<>(subNodes.values());
-        return subNodesList.get(randomMapElement);
+    public String getValue() {
+        return value;
     }
 
     /**
-     * Getter for tree value.
+     * Getter for the vocabulary id of the node word.
      *
-     * @return tree node value, not null if it's valid word
+     * @return word id or -1 if node has no word or word has no id
      */
-    public String getValue() {
-        return value;
+    int getWordId() {
+        return wordId;
     }
 
     /**
-     * Getter for subtrees keys
+     * Getter for the tree alphabet
      *
-     * @return subtrees keys
+     * @return alphabet of the tree words
      */
-    Set<Character> getSubNodesKeys() {
-        return subNodes.keySet();
+    Alphabet getAlphabet() {
+        return alphabet;
     }
 
     /**
-     * Finds random word of desired size.
+     * Getter for the number of subtrees
      *
-     * @param wordSize the size of desired random word
-     * @return random word
+     * @return number of subtrees
      */
-    public String getRandomWord(int wordSize) {
-        return getRandomWordHelper(this, wordSize);
-    }
-
-    private String getRandomWordHelper(PrefixTree tree, int wordSize) {
-        if (tree == null) return null;
-        if (wordSize == 0) return tree.getValue();
-        String randomWord;
-        int i = 0;
-        do {
-            PrefixTree randomSubtree = tree.getRandomSubtree();
-            if (randomSubtree == null) {
-                return null;
-            }
-            randomWord = getRandomWordHelper(tree.getRandomSubtree(), wordSize-1);
-            i++;
-        } while (randomWord == null && i < 20);
-        return randomWord;
+    int getSubNodesCount() {
+        return subNodes.length;
+    }
+
+    /**
+     * Getter for the letters of subtrees, bit of the letter index
+     * is set if there is subtree of the letter.
+     *
+     * @return subtrees letters mask
+     */
+    long getSubNodesMask() {
+        return subNodesMask;
+    }
+
+    /**
+     * Getter for the subtree by its position.
+     *
+     * @param position subtree position, less than subtrees count
+     * @return subtree
+     */
+    PrefixTree getSubNode(int position) {
+        return subNodes[position];
     }
 }
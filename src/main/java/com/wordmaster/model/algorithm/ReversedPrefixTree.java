@@ -1,5 +1,6 @@
 package com.wordmaster.model.algorithm;
 
+import com.wordmaster.gui.i18n.Alphabet;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -13,17 +14,33 @@ import org.slf4j.LoggerFactory;
 public class ReversedPrefixTree extends PrefixTree {
     private final static Logger logger = LoggerFactory.getLogger(ReversedPrefixTree.class);
 
+    /**
+     * Creates empty tree.
+     *
+     * @param alphabet alphabet of the tree words
+     */
+    public ReversedPrefixTree(Alphabet alphabet) {
+        super(alphabet);
+    }
+
     @Override
-    public void addWord(String word) {
+    public boolean addWord(String word) {
+        if (!getAlphabet().containsAll(word)) return false;
         String reversed = new StringBuilder(word).reverse().toString();
         for (int i = 0; i < word.length(); i++) {
             putNode(reversed.substring(i), 0);
         }
+        return true;
+    }
+
+    @Override
+    void addWord(String word, int wordId) {
+        addWord(word);
     }
 
     @Override
     protected PrefixTree buildPrefixTree() {
-        return new ReversedPrefixTree();
+        return new ReversedPrefixTree(getAlphabet());
     }
 }
 
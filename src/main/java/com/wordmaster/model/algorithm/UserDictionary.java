@@ -0,0 +1,166 @@
+package com.wordmaster.model.algorithm;
+
+import com.wordmaster.gui.i18n.Alphabet;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * User changes of the vocabulary: added words and banned words. Added
+ * words are kept in their own small trees, which are searched together
+ * with the vocabulary trees, so the vocabulary itself is never rebuilt.
+ * User dictionary is immutable, changed file is read into a new one.
+ * <p>
+ * Format: one word per line, '+' before added word and '-' before
+ * banned one. Lines starting with '#' are comments.
+ *
+ * @author Mike
+ * @version 1.0
+ */
+public class UserDictionary {
+    private final Alphabet alphabet;
+    private final Set<String> addedWords;
+    private final Set<String> bannedWords;
+    private final PrefixTree prefixTree;
+    private final ReversedPrefixTree reversedPrefixTree;
+
+    UserDictionary(Alphabet alphabet, Collection<String> addedWords, Collection<String> bannedWords) {
+        this.alphabet = alphabet;
+        prefixTree = new PrefixTree(alphabet);
+        reversedPrefixTree = new ReversedPrefixTree(alphabet);
+        this.addedWords = Collections.unmodifiableSet(new HashSet<>(addedWords));
+        this.bannedWords = Collections.unmodifiableSet(new HashSet<>(bannedWords));
+        for (String word : this.addedWords) {
+            prefixTree.addWord(word);
+            reversedPrefixTree.addWord(word);
+        }
+    }
+
+    /**
+     * Creates user dictionary without changes.
+     *
+     * @param alphabet alphabet of the words
+     * @return empty user dictionary
+     */
+    static UserDictionary empty(Alphabet alphabet) {
+        return new UserDictionary(alphabet, Collections.emptySet(), Collections.emptySet());
+    }
+
+    /**
+     * Reads user dictionary from the file.
+     *
+     * @param file      file to read
+     * @param alphabet  alphabet of the words
+     * @return read user dictionary
+     * @throws IOException if any reading error occurs or file is corrupted
+     */
+    static UserDictionary load(File file, Alphabet alphabet) throws IOException {
+        Set<String> addedWords = new HashSet<>();
+        Set<String> bannedWords = new HashSet<>();
+        try (BufferedReader br = new BufferedReader(
+                new InputStreamReader(new FileInputStream(file), StandardCharsets.UTF_8))) {
+            String line = br.readLine();
+            while (line != null) {
+                if (!line.isEmpty() && line.charAt(0) != '#') {
+                    String word = line.substring(1);
+                    if (line.charAt(0) == '+' && !word.isEmpty()) {
+                        addedWords.add(word);
+                        bannedWords.remove(word);
+                    } else if (line.charAt(0) == '-' && !word.isEmpty()) {
+                        bannedWords.add(word);
+                        addedWords.remove(word);
+                    } else {
+                        throw new IOException("Corrupted user dictionary line: " + line);
+                    }
+                }
+                line = br.readLine();
+            }
+        }
+        return new UserDictionary(alphabet, addedWords, bannedWords);
+    }
+
+    /**
+     * Creates user dictionary without any change of the word.
+     *
+     * @param word word to forget
+     * @return changed user dictionary
+     */
+    UserDictionary withoutWord(String word) {
+        Set<String> newAddedWords = new HashSet<>(addedWords);
+        Set<String> newBannedWords = new HashSet<>(bannedWords);
+        newAddedWords.remove(word);
+        newBannedWords.remove(word);
+        return new UserDictionary(alphabet, newAddedWords, newBannedWords);
+    }
+
+    /**
+     * Checks if user dictionary changes nothing.
+     *
+     * @return true if there is no added and banned words
+     */
+    public boolean isEmpty() {
+        return addedWords.isEmpty() && bannedWords.isEmpty();
+    }
+
+    /**
+     * Checks if user dictionary has added words.
+     *
+     * @return true if there is at least one added word
+     */
+    public boolean hasAddedWords() {
+        return !addedWords.isEmpty();
+    }
+
+    /**
+     * Checks if user dictionary has banned words.
+     *
+     * @return true if there is at least one banned word
+     */
+    public boolean hasBannedWords() {
+        return !bannedWords.isEmpty();
+    }
+
+    /**
+     * Checks if word is banned.
+     *
+     * @param word word to check
+     * @return true if word is banned
+     */
+    public boolean isBanned(String word) {
+        return bannedWords.contains(word);
+    }
+
+    /**
+     * Getter for the added words
+     *
+     * @return unmodifiable set of added words
+     */
+    public Set<String> getAddedWords() {
+        return addedWords;
+    }
+
+    /**
+     * Getter for the banned words
+     *
+     * @return unmodifiable set of banned words
+     */
+    public Set<String> getBannedWords() {
+        return bannedWords;
+    }
+
+    PrefixTree getPrefixTree() {
+        return prefixTree;
+    }
+
+    ReversedPrefixTree getReversedPrefixTree() {
+        return reversedPrefixTree;
+    }
+}
@@ -1,46 +1,100 @@
 package com.wordmaster.model.algorithm;
 
-import com.wordmaster.gui.i18n.Language;
+import com.wordmaster.gui.i18n.Alphabet;
+import com.wordmaster.gui.i18n.LanguagePack;
+import com.wordmaster.model.GameField;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.BufferedReader;
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
-import java.util.HashMap;
+import java.io.InputStreamReader;
+import java.lang.ref.WeakReference;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
 import java.util.concurrent.FutureTask;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Vocabulary contains all possible game words in
  * suitable for algorithm form (i.e. prefix tree data
  * structure). Statically keeps all game vocabularies
  * that can be loaded and later accessed by language.
+ * Each word has an id, its index in the vocabulary file.
+ * Ids of the words suitable for the start word are indexed
+ * by word length. User dictionary with added and banned words
+ * is applied over the vocabulary, it is read from its own file and
+ * can be read again at any time without rebuilding the vocabulary.
+ * Vocabulary can be reloaded, new one replaces the old one for
+ * the new games, while the running games keep the old one.
+ * Vocabularies are loaded on first access and evicted when
+ * they are not accessed for a long time.
+ * <p>
+ * Vocabulary file contains one word per line, optionally followed
+ * by tab and the word frequency. Words are split into rarity groups
+ * by frequency, or by the frequency of their letters if the file has
+ * no frequencies.
+ * <p>
+ * The bundled vocabularies have no frequencies, so their rarities are
+ * only the letter proxy: a word of common letters is "common" even if
+ * nobody uses it, and a usual word with a rare letter is "rare". Real
+ * word usage is taken into account only for vocabularies with the
+ * frequency column, e.g. the external or language pack ones.
  *
  * @author Mike
  * @version 1.0
  */
 public class Vocabulary {
     private static final Logger logger = LoggerFactory.getLogger(Vocabulary.class);
-    private static Map<Language, Future<Vocabulary>> vocabularyMap = new HashMap<>();
-    private PrefixTree prefixTree = new PrefixTree();
-    private ReversedPrefixTree reversedPrefixTree = new ReversedPrefixTree();
+    public static final int MAX_RARITY = 9;
+    public static final int UNKNOWN_RARITY = -1;
+    static final char FREQUENCY_SEPARATOR = '\t';
+    static final long IDLE_EVICTION_TIME = TimeUnit.MINUTES.toMillis(10);
+    private static final int RANDOM_WORD_TRIES = 32;
+    private static Map<LanguagePack, Future<Vocabulary>> vocabularyMap = new ConcurrentHashMap<>();
+    private static Map<LanguagePack, Long> lastAccessMap = new ConcurrentHashMap<>();
+    private static Map<LanguagePack, WeakReference<Vocabulary>> evictedMap = new ConcurrentHashMap<>();
+    private PrefixTree prefixTree;
+    private ReversedPrefixTree reversedPrefixTree;
+    private String[] words;
+    private int[][] wordIdsByLength;
+    private byte[] rarities;
+    private LanguagePack language;
+    private volatile UserDictionary userDictionary;
 
     /**
      * Creates and starts async future task of vocabulary loading.
-     * Vocabulary can be statically accessed later.
+     * Vocabulary can be statically accessed later. Vocabularies of
+     * other languages, which are not accessed for a long time, are evicted.
      *
      * @param language language that contains stream of proper language vocabulary
      */
-    public static void loadVocabulary(Language language) {
+    public static void loadVocabulary(LanguagePack language) {
+        lastAccessMap.put(language, System.currentTimeMillis());
+        evictIdleVocabularies();
         if (!vocabularyMap.containsKey(language)) {
+            WeakReference<Vocabulary> evictedVocabulary = evictedMap.remove(language);
+            Vocabulary stillUsedVocabulary = evictedVocabulary != null ? evictedVocabulary.get() : null;
+            if (stillUsedVocabulary != null) {
+                vocabularyMap.putIfAbsent(language, CompletableFuture.completedFuture(stillUsedVocabulary));
+                logger.debug("Evicted vocabulary {} is still in use, it is restored", language.getId());
+                return;
+            }
             FutureTask<Vocabulary> loadingTask = new FutureTask<>(() -> {
                 try {
-                    Vocabulary vocabulary = new Vocabulary();
-                    InputStream is = language.getVocabularyInputStream();
-                    vocabulary.prefixTree.loadFromStream(is);
-                    is = language.getVocabularyInputStream();
-                    vocabulary.reversedPrefixTree.loadFromStream(is);
+                    Vocabulary vocabulary = load(language);
                     logger.debug("Vocabulary loaded");
                     return vocabulary;
                 } catch (IOException e) {
@@ -49,8 +103,297 @@ public class Vocabulary {
                     throw ve;
                 }
             });
-            vocabularyMap.put(language, loadingTask);
-            new Thread(loadingTask).start();
+            if (vocabularyMap.putIfAbsent(language, loadingTask) == null) {
+                new Thread(loadingTask).start();
+            }
+        }
+    }
+
+    /**
+     * Loads language vocabulary again in the calling thread and replaces
+     * the accessible one on success. Previous vocabulary stays valid for
+     * everyone who already got it. Not loaded vocabulary is not reloaded,
+     * it will be read from the changed file on first access.
+     *
+     * @param language language of the vocabulary
+     * @return true if vocabulary was reloaded, false if it is not loaded or loading failed
+     */
+    public static boolean reloadVocabulary(LanguagePack language) {
+        evictedMap.remove(language);
+        if (!vocabularyMap.containsKey(language)) {
+            logger.debug("Vocabulary {} is not loaded, nothing to reload", language.getId());
+            return false;
+        }
+        try {
+            Vocabulary vocabulary = load(language);
+            vocabularyMap.put(language, CompletableFuture.completedFuture(vocabulary));
+            logger.info("Vocabulary {} reloaded, {} words", language.getId(), vocabulary.words.length);
+            return true;
+        } catch (IOException | RuntimeException e) {
+            logger.error("Cannot reload vocabulary {}, previous one is kept", language.getId(), e);
+            return false;
+        }
+    }
+
+    /**
+     * Reads the user dictionary of the language again and applies it to
+     * the loaded vocabulary. Only the user dictionary is replaced, so the
+     * games using the vocabulary see the change at once. Vocabulary being
+     * loaded is waited for in the calling thread. If the file cannot be
+     * read, the previous user dictionary is kept.
+     *
+     * @param language language of the user dictionary
+     * @return true if user dictionary was applied, false if vocabulary is not loaded
+     *         or user dictionary cannot be read
+     */
+    public static boolean reloadUserDictionary(LanguagePack language) {
+        List<Vocabulary> vocabularies = new ArrayList<>();
+        Future<Vocabulary> loadedVocabulary = vocabularyMap.get(language);
+        if (loadedVocabulary != null) {
+            try {
+                vocabularies.add(loadedVocabulary.get());
+            } catch (ExecutionException | InterruptedException e) {
+                logger.debug("Vocabulary {} is not loaded, user dictionary is not applied", language.getId());
+            }
+        }
+        WeakReference<Vocabulary> evictedVocabulary = evictedMap.get(language);
+        if (evictedVocabulary != null && evictedVocabulary.get() != null) {
+            vocabularies.add(evictedVocabulary.get());
+        }
+        if (vocabularies.isEmpty()) {
+            logger.debug("Vocabulary {} is not loaded, nothing to apply", language.getId());
+            return false;
+        }
+        File file = new File(language.getUserDictionaryFileName());
+        UserDictionary userDictionary = UserDictionary.empty(language.getLetterIndex());
+        if (file.isFile()) {
+            try {
+                userDictionary = UserDictionary.load(file, language.getLetterIndex());
+            } catch (IOException e) {
+                logger.error("Cannot read user dictionary {}, previous one is kept", file.getName(), e);
+                return false;
+            }
+        }
+        for (Vocabulary vocabulary : vocabularies) {
+            vocabulary.applyUserDictionary(userDictionary);
+        }
+        logger.info("User dictionary {} applied: {} added, {} banned words", language.getId(),
+                userDictionary.getAddedWords().size(), userDictionary.getBannedWords().size());
+        return true;
+    }
+
+    /**
+     * Removes loaded vocabularies, which were not accessed for the idle
+     * eviction time. Running games keep their vocabulary, so evicted
+     * vocabulary is weakly remembered and restored without loading
+     * while anyone uses it.
+     */
+    private static void evictIdleVocabularies() {
+        long now = System.currentTimeMillis();
+        for (Map.Entry<LanguagePack, Future<Vocabulary>> entry : vocabularyMap.entrySet()) {
+            LanguagePack language = entry.getKey();
+            Future<Vocabulary> vocabulary = entry.getValue();
+            Long lastAccess = lastAccessMap.get(language);
+            if (!vocabulary.isDone() || (lastAccess != null && now - lastAccess < IDLE_EVICTION_TIME)) {
+                continue;
+            }
+            if (!vocabularyMap.remove(language, vocabulary)) continue;
+            try {
+                evictedMap.put(language, new WeakReference<>(vocabulary.get()));
+            } catch (ExecutionException | InterruptedException e) {
+                logger.debug("Failed vocabulary {} is evicted", language.getId());
+            }
+            logger.debug("Vocabulary {} is evicted after idle time", language.getId());
+        }
+    }
+
+    /**
+     * Reads language vocabulary once and builds trees and
+     * the word length index from it.
+     *
+     * @param language language of the vocabulary
+     * @return loaded vocabulary
+     * @throws IOException if any reading error occurs
+     */
+    private static Vocabulary load(LanguagePack language) throws IOException {
+        InputStream is = language.getVocabularyInputStream();
+        if (is == null) {
+            throw new IOException("No vocabulary for language " + language.getId());
+        }
+        List<String> wordList = new ArrayList<>();
+        List<Double> frequencyList = new ArrayList<>();
+        boolean hasFrequencies = false;
+        try (BufferedReader br = new BufferedReader(new InputStreamReader(is, StandardCharsets.UTF_8))) {
+            String nextLine = br.readLine();
+            while (nextLine != null) {
+                int separator = nextLine.indexOf(FREQUENCY_SEPARATOR);
+                if (separator < 0) {
+                    wordList.add(nextLine);
+                    frequencyList.add(null);
+                } else {
+                    wordList.add(nextLine.substring(0, separator));
+                    frequencyList.add(parseFrequency(nextLine.substring(separator + 1)));
+                    hasFrequencies = true;
+                }
+                nextLine = br.readLine();
+            }
+        }
+        if (wordList.isEmpty()) {
+            throw new IOException("Empty vocabulary for language " + language.getId());
+        }
+        Vocabulary vocabulary = new Vocabulary();
+        vocabulary.prefixTree = new PrefixTree(language.getLetterIndex());
+        vocabulary.reversedPrefixTree = new ReversedPrefixTree(language.getLetterIndex());
+        vocabulary.words = wordList.toArray(new String[wordList.size()]);
+        for (int wordId = 0; wordId < vocabulary.words.length; wordId++) {
+            vocabulary.prefixTree.addWord(vocabulary.words[wordId], wordId);
+            vocabulary.reversedPrefixTree.addWord(vocabulary.words[wordId]);
+        }
+        vocabulary.indexByLength(language);
+        if (hasFrequencies) {
+            vocabulary.rarities = vocabulary.computeRarities(frequencyList);
+        } else {
+            logger.info("Vocabulary {} has no word frequencies, rarities are estimated by letters",
+                    language.getId());
+            vocabulary.rarities = vocabulary.estimateRarities(language);
+        }
+        vocabulary.language = language;
+        vocabulary.applyUserDictionary(loadUserDictionary(language));
+        return vocabulary;
+    }
+
+    private static double parseFrequency(String frequency) throws IOException {
+        try {
+            double value = Double.parseDouble(frequency.trim());
+            if (value < 0 || Double.isNaN(value)) {
+                throw new IOException("Negative word frequency " + frequency);
+            }
+            return value;
+        } catch (NumberFormatException e) {
+            throw new IOException("Corrupted word frequency " + frequency, e);
+        }
+    }
+
+    /**
+     * Ranks words by their frequencies, the rarest words get the
+     * highest rarity. Words without frequency are the rarest.
+     *
+     * @param frequencyList word frequencies by word id, null if unknown
+     * @return rarities by word id
+     */
+    private byte[] computeRarities(List<Double> frequencyList) {
+        double[] scores = new double[words.length];
+        for (int wordId = 0; wordId < words.length; wordId++) {
+            Double frequency = frequencyList.get(wordId);
+            scores[wordId] = frequency == null ? Double.POSITIVE_INFINITY : -frequency;
+        }
+        return rankRarities(scores);
+    }
+
+    /**
+     * Estimates word rarities, when vocabulary has no frequencies.
+     * Words made of rare letters are considered rare: the score of word
+     * is the average information of its letters, computed from the letter
+     * frequencies in the vocabulary. It is a proxy for the word usage,
+     * it does not know which words are actually used.
+     *
+     * @param language language of the vocabulary
+     * @return rarities by word id
+     */
+    private byte[] estimateRarities(LanguagePack language) {
+        Alphabet alphabet = language.getLetterIndex();
+        long[] letterCounts = new long[alphabet.size()];
+        long totalCount = 0;
+        for (String word : words) {
+            for (int i = 0; i < word.length(); i++) {
+                int letterIndex = alphabet.indexOf(word.charAt(i));
+                if (letterIndex != Alphabet.NO_INDEX) {
+                    letterCounts[letterIndex]++;
+                    totalCount++;
+                }
+            }
+        }
+        double[] letterInformation = new double[alphabet.size()];
+        for (int letterIndex = 0; letterIndex < letterInformation.length; letterIndex++) {
+            letterInformation[letterIndex] = -Math.log((letterCounts[letterIndex] + 1.0) / (totalCount + 1.0));
+        }
+        double[] scores = new double[words.length];
+        for (int wordId = 0; wordId < words.length; wordId++) {
+            String word = words[wordId];
+            double information = 0;
+            for (int i = 0; i < word.length(); i++) {
+                int letterIndex = alphabet.indexOf(word.charAt(i));
+                information += letterIndex == Alphabet.NO_INDEX ? 0 : letterInformation[letterIndex];
+            }
+            scores[wordId] = word.isEmpty() ? 0 : information / word.length();
+        }
+        return rankRarities(scores);
+    }
+
+    /**
+     * Splits words into equal rarity groups by their scores.
+     *
+     * @param scores word scores by word id, higher score is rarer word
+     * @return rarities by word id
+     */
+    private static byte[] rankRarities(double[] scores) {
+        Integer[] wordIds = new Integer[scores.length];
+        for (int wordId = 0; wordId < wordIds.length; wordId++) {
+            wordIds[wordId] = wordId;
+        }
+        Arrays.sort(wordIds, (Integer first, Integer second) -> Double.compare(scores[first], scores[second]));
+        byte[] rarities = new byte[scores.length];
+        for (int rank = 0; rank < wordIds.length; rank++) {
+            rarities[wordIds[rank]] = (byte) ((long) rank * (MAX_RARITY + 1) / wordIds.length);
+        }
+        return rarities;
+    }
+
+    /**
+     * Loads user dictionary of the language, if there is one.
+     *
+     * @param language language of the user dictionary
+     * @return loaded user dictionary, empty if there is no or it cannot be read
+     */
+    private static UserDictionary loadUserDictionary(LanguagePack language) {
+        File file = new File(language.getUserDictionaryFileName());
+        if (!file.isFile()) return UserDictionary.empty(language.getLetterIndex());
+        try {
+            UserDictionary userDictionary = UserDictionary.load(file, language.getLetterIndex());
+            logger.debug("User dictionary loaded: {} added, {} banned words",
+                    userDictionary.getAddedWords().size(), userDictionary.getBannedWords().size());
+            return userDictionary;
+        } catch (IOException e) {
+            logger.warn("Cannot load user dictionary {}", file.getName(), e);
+            return UserDictionary.empty(language.getLetterIndex());
+        }
+    }
+
+    /**
+     * Builds the arrays of word ids by word length. Only words
+     * of alphabet letters are indexed, as only they can be start words.
+     *
+     * @param language language of the vocabulary
+     */
+    private void indexByLength(LanguagePack language) {
+        int maxLength = 0;
+        for (String word : words) {
+            maxLength = Math.max(maxLength, word.length());
+        }
+        int[] counts = new int[maxLength + 1];
+        for (String word : words) {
+            if (language.validateWordLetters(word)) counts[word.length()]++;
+        }
+        wordIdsByLength = new int[maxLength + 1][];
+        for (int length = 0; length <= maxLength; length++) {
+            wordIdsByLength[length] = new int[counts[length]];
+            counts[length] = 0;
+        }
+        for (int wordId = 0; wordId < words.length; wordId++) {
+            String word = words[wordId];
+            if (language.validateWordLetters(word)) {
+                wordIdsByLength[word.length()][counts[word.length()]++] = wordId;
+            }
         }
     }
 
@@ -60,10 +403,8 @@ public class Vocabulary {
      * @param language vocabulary language
      * @return vocabulary which is associated with desired language
      */
-    public static Future<Vocabulary> getVocabulary(Language language) {
-        if (!vocabularyMap.containsKey(language)) {
-            loadVocabulary(language);
-        }
+    public static Future<Vocabulary> getVocabulary(LanguagePack language) {
+        loadVocabulary(language);
         return vocabularyMap.get(language);
     }
 
@@ -86,13 +427,148 @@ public class Vocabulary {
     }
 
     /**
-     * Returns one random word from vocabulary of desired size
+     * Getter for the current user dictionary. It does not change,
+     * changes of the user dictionary replace it.
+     *
+     * @return user dictionary
+     */
+    public UserDictionary getUserDictionary() {
+        return userDictionary;
+    }
+
+    /**
+     * Checks if word is valid game word with the user changes.
+     *
+     * @param word word to check
+     * @return true if word is in vocabulary or added and is not banned
+     */
+    public boolean containsWord(String word) {
+        UserDictionary currentUserDictionary = userDictionary;
+        if (currentUserDictionary.isBanned(word)) return false;
+        if (containsBaseWord(word)) return true;
+        PrefixTree node = currentUserDictionary.getPrefixTree().goTo(word);
+        return node != null && node.isEnd();
+    }
+
+    private boolean containsBaseWord(String word) {
+        PrefixTree node = prefixTree.goTo(word);
+        return node != null && node.isEnd();
+    }
+
+    /**
+     * Replaces the user dictionary. Added words, which are in the
+     * vocabulary already, are dropped, so they are not generated twice.
+     *
+     * @param newUserDictionary user dictionary to apply
+     */
+    private void applyUserDictionary(UserDictionary newUserDictionary) {
+        for (String word : newUserDictionary.getAddedWords()) {
+            if (containsBaseWord(word)) {
+                newUserDictionary = newUserDictionary.withoutWord(word);
+            }
+        }
+        userDictionary = newUserDictionary;
+    }
+
+    /**
+     * Getter for the word by its id
+     *
+     * @param wordId vocabulary id of the word
+     * @return word
+     */
+    String getWord(int wordId) {
+        return words[wordId];
+    }
+
+    /**
+     * Getter for the word rarity
+     *
+     * @param wordId vocabulary id of the word
+     * @return rarity from 0 for the most common words to <code>MAX_RARITY</code>
+     *         or <code>UNKNOWN_RARITY</code> if word has no id, estimated
+     *         by letters if vocabulary has no frequencies
+     */
+    public int getRarity(int wordId) {
+        if (wordId < 0 || wordId >= rarities.length) return UNKNOWN_RARITY;
+        return rarities[wordId];
+    }
+
+    /**
+     * Getter for the number of vocabulary words
+     *
+     * @return number of words
+     */
+    int getWordsCount() {
+        return words.length;
+    }
+
+    /**
+     * Returns all the words of desired size, which consist of
+     * alphabet letters only and so can be used as start words.
+     *
+     * @param wordSize the size of words
+     * @return list of words, empty if there is no such words
+     */
+    public List<String> getWords(int wordSize) {
+        if (wordSize < 0 || wordSize >= wordIdsByLength.length) {
+            return new ArrayList<>();
+        }
+        int[] wordIds = wordIdsByLength[wordSize];
+        List<String> sizedWords = new ArrayList<>(wordIds.length);
+        for (int wordId : wordIds) {
+            sizedWords.add(words[wordId]);
+        }
+        return sizedWords;
+    }
+
+    /**
+     * Finds vocabulary words matching the pattern. Words are found
+     * lazily while the stream is consumed, so limiting the stream
+     * stops the search. User dictionary changes are applied.
+     *
+     * @param pattern word pattern
+     * @return stream of matching words
+     */
+    public Stream<String> query(WordPattern pattern) {
+        UserDictionary currentUserDictionary = userDictionary;
+        Stream<String> words = StreamSupport.stream(new PatternSpliterator(prefixTree, pattern), false);
+        if (currentUserDictionary.isEmpty()) return words;
+        return Stream.concat(
+                words.filter((String word) -> !currentUserDictionary.isBanned(word)),
+                StreamSupport.stream(new PatternSpliterator(
+                        currentUserDictionary.getPrefixTree(), pattern), false));
+    }
+
+    /**
+     * Returns one random word from vocabulary of desired size. If there
+     * is no such words, returns random word of the nearest shorter size,
+     * but not shorter than the minimal start word. All words of the same
+     * size are equally likely, banned words are never returned: random
+     * word is taken again if it is banned, and if the words keep being
+     * banned, the word is chosen among all not banned words of the size.
      *
      * @param wordSize the size of desired random word
-     * @return  random word
+     * @return  random word, null if there is no words long enough to start game with
      */
     public String getRandomWord(int wordSize) {
-        return prefixTree.getRandomWord(wordSize);
+        UserDictionary currentUserDictionary = userDictionary;
+        for (int size = Math.min(wordSize, wordIdsByLength.length - 1);
+             size >= GameField.MIN_START_WORD_SIZE; size--) {
+            int[] wordIds = wordIdsByLength[size];
+            if (wordIds.length == 0) continue;
+            for (int i = 0; i < RANDOM_WORD_TRIES; i++) {
+                String word = words[wordIds[ThreadLocalRandom.current().nextInt(wordIds.length)]];
+                if (!currentUserDictionary.isBanned(word)) return word;
+            }
+            List<String> allowedWords = new ArrayList<>();
+            for (int wordId : wordIds) {
+                if (!currentUserDictionary.isBanned(words[wordId])) allowedWords.add(words[wordId]);
+            }
+            if (!allowedWords.isEmpty()) {
+                return allowedWords.get(ThreadLocalRandom.current().nextInt(allowedWords.size()));
+            }
+        }
+        return null;
     }
 
 }
@@ -0,0 +1,199 @@
+package com.wordmaster.model.algorithm;
+
+import com.wordmaster.gui.i18n.Language;
+import com.wordmaster.gui.i18n.LanguagePack;
+import com.wordmaster.gui.i18n.LanguagePacks;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Watches the external vocabulary directory and the vocabulary files
+ * of the language packs, and reloads vocabulary of the language when
+ * its file is created, changed or deleted. Deleted external file reverts
+ * the language to its own vocabulary. Changed user dictionary file is
+ * applied to the loaded vocabulary without reloading it, so running
+ * games see the new rules at once. Parent of the external vocabulary
+ * directory is watched too, so the directory created later is watched
+ * as well. Changes are collected until the directories are quiet for
+ * a while, so the file being written is not read. Reloading is done in
+ * the watcher thread, the accessible vocabulary is replaced only after
+ * the new one is built.
+ *
+ * @author Mike
+ * @version 1.0
+ */
+public class VocabularyWatcher {
+    private static final Logger logger = LoggerFactory.getLogger(VocabularyWatcher.class);
+    static final long QUIET_PERIOD = 500;
+
+    private final WatchService watchService;
+    private final Path directory;
+    private final Map<WatchKey, Path> watchedDirectories = new HashMap<>();
+
+    private VocabularyWatcher(WatchService watchService, Path directory) {
+        this.watchService = watchService;
+        this.directory = directory;
+    }
+
+    /**
+     * Starts watching the external vocabulary directory.
+     *
+     * @return started watcher or null if there is nothing to watch
+     */
+    public static VocabularyWatcher start() {
+        return start(new File(Language.EXTERNAL_VOCABULARY_DIRECTORY));
+    }
+
+    /**
+     * Starts watching the vocabulary directory, which may not exist yet,
+     * and the vocabulary files of the language packs.
+     *
+     * @param directory directory with vocabulary files
+     * @return started watcher or null if nothing can be watched
+     */
+    public static VocabularyWatcher start(File directory) {
+        Path path = toPath(directory);
+        VocabularyWatcher watcher;
+        try {
+            watcher = new VocabularyWatcher(path.getFileSystem().newWatchService(), path);
+        } catch (IOException e) {
+            logger.warn("Cannot watch vocabulary directory {}", path, e);
+            return null;
+        }
+        watcher.register(path.getParent());
+        watcher.register(path);
+        for (LanguagePack language : LanguagePacks.getLanguagePacks()) {
+            File packVocabularyFile = language.getPackVocabularyFile();
+            if (packVocabularyFile != null) {
+                watcher.register(toPath(packVocabularyFile).getParent());
+            }
+            watcher.register(toPath(new File(language.getUserDictionaryFileName())).getParent());
+        }
+        if (watcher.watchedDirectories.isEmpty()) {
+            logger.debug("No vocabulary directories to watch");
+            watcher.stop();
+            return null;
+        }
+        Thread watcherThread = new Thread(watcher::watchLoop);
+        watcherThread.setName("vocabularyWatcherThread");
+        watcherThread.setDaemon(true);
+        watcherThread.start();
+        return watcher;
+    }
+
+    /**
+     * Stops watching. Reloading in progress is finished.
+     */
+    public void stop() {
+        try {
+            watchService.close();
+        } catch (IOException e) {
+            logger.warn("Cannot close vocabulary watch service", e);
+        }
+    }
+
+    /**
+     * Starts watching the directory if it exists and is not watched yet.
+     *
+     * @param watchedDirectory directory to watch, may be null
+     */
+    private void register(Path watchedDirectory) {
+        if (watchedDirectory == null || !Files.isDirectory(watchedDirectory)
+                || watchedDirectories.containsValue(watchedDirectory)) return;
+        try {
+            WatchKey key = watchedDirectory.register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                    StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+            watchedDirectories.put(key, watchedDirectory);
+            logger.debug("Watching vocabulary directory {}", watchedDirectory);
+        } catch (IOException e) {
+            logger.warn("Cannot watch vocabulary directory {}", watchedDirectory, e);
+        }
+    }
+
+    /**
+     * Watcher thread body.
+     */
+    private void watchLoop() {
+        try {
+            while (true) {
+                Set<LanguagePack> changedLanguages = new HashSet<>();
+                Set<LanguagePack> changedUserDictionaries = new HashSet<>();
+                WatchKey key = watchService.take();
+                while (key != null) {
+                    collectChanges(key, changedLanguages, changedUserDictionaries);
+                    if (!key.reset()) {
+                        logger.debug("Vocabulary directory {} is no longer accessible",
+                                watchedDirectories.remove(key));
+                        changedLanguages.addAll(LanguagePacks.getLanguagePacks());
+                        if (watchedDirectories.isEmpty()) {
+                            logger.warn("No vocabulary directories are accessible, watching is stopped");
+                            return;
+                        }
+                    }
+                    key = watchService.poll(QUIET_PERIOD, TimeUnit.MILLISECONDS);
+                }
+                for (LanguagePack language : changedLanguages) {
+                    Vocabulary.reloadVocabulary(language);
+                }
+                // reloaded vocabulary has read its user dictionary already
+                changedUserDictionaries.removeAll(changedLanguages);
+                for (LanguagePack language : changedUserDictionaries) {
+                    Vocabulary.reloadUserDictionary(language);
+                }
+            }
+        } catch (ClosedWatchServiceException e) {
+            logger.debug("Vocabulary watcher stopped");
+        } catch (InterruptedException e) {
+            logger.error("Vocabulary watcher thread was suddenly interrupted", e);
+        }
+    }
+
+    private void collectChanges(WatchKey key, Set<LanguagePack> changedLanguages,
+                                Set<LanguagePack> changedUserDictionaries) {
+        Path watchedDirectory = watchedDirectories.get(key);
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW || watchedDirectory == null) {
+                changedLanguages.addAll(LanguagePacks.getLanguagePacks());
+                continue;
+            }
+            Path changedPath = watchedDirectory.resolve((Path) event.context());
+            if (changedPath.equals(directory)) {
+                // vocabulary directory itself is created or removed
+                if (event.kind() == StandardWatchEventKinds.ENTRY_CREATE) {
+                    register(directory);
+                }
+                changedLanguages.addAll(LanguagePacks.getLanguagePacks());
+                continue;
+            }
+            for (LanguagePack language : LanguagePacks.getLanguagePacks()) {
+                File packVocabularyFile = language.getPackVocabularyFile();
+                if (changedPath.equals(directory.resolve(language.getVocabularyFileName()))
+                        || (packVocabularyFile != null && changedPath.equals(toPath(packVocabularyFile)))) {
+                    changedLanguages.add(language);
+                }
+                if (changedPath.equals(toPath(new File(language.getUserDictionaryFileName())))) {
+                    changedUserDictionaries.add(language);
+                }
+            }
+        }
+    }
+
+    private static Path toPath(File file) {
+        return file.getAbsoluteFile().toPath().normalize();
+    }
+}
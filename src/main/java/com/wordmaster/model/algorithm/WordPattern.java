@@ -0,0 +1,95 @@
+package com.wordmaster.model.algorithm;
+
+/**
+ * Vocabulary query pattern. Pattern letters fix the word letters at
+ * their positions, '?' matches any letter. Word length is limited by
+ * the minimal and maximal length, positions after the pattern end
+ * match any letter.
+ *
+ * @author Mike
+ * @version 1.0
+ */
+public class WordPattern {
+    public static final char ANY_LETTER = '?';
+
+    private final String pattern;
+    private final int minLength;
+    private final int maxLength;
+
+    /**
+     * Creates pattern, which matches words of the pattern length only.
+     *
+     * @param pattern letters and '?' wildcards
+     */
+    public WordPattern(String pattern) {
+        this(pattern, pattern.length(), pattern.length());
+    }
+
+    /**
+     * Creates pattern, which matches words of the specified length.
+     *
+     * @param pattern   letters and '?' wildcards for the word beginning
+     * @param minLength minimal word length
+     * @param maxLength maximal word length
+     */
+    public WordPattern(String pattern, int minLength, int maxLength) {
+        if (pattern == null || minLength < 0 || maxLength < minLength) {
+            throw new IllegalArgumentException("Illegal word pattern");
+        }
+        this.pattern = pattern;
+        this.minLength = minLength;
+        this.maxLength = maxLength;
+    }
+
+    /**
+     * Checks if letter can be at the position.
+     *
+     * @param position  zero-based letter position
+     * @param letter    letter to check
+     * @return true if pattern allows the letter at the position
+     */
+    public boolean allows(int position, char letter) {
+        if (position >= maxLength) return false;
+        if (position >= pattern.length()) return true;
+        char patternLetter = pattern.charAt(position);
+        return patternLetter == ANY_LETTER || patternLetter == letter;
+    }
+
+    /**
+     * Returns the letter fixed at the position.
+     *
+     * @param position zero-based letter position
+     * @return fixed letter or <code>ANY_LETTER</code> if position is not fixed
+     */
+    public char getFixedLetter(int position) {
+        if (position >= pattern.length()) return ANY_LETTER;
+        return pattern.charAt(position);
+    }
+
+    /**
+     * Checks if pattern matches the word.
+     *
+     * @param word word to check
+     * @return true if word matches pattern
+     */
+    public boolean matches(String word) {
+        if (word.length() < minLength || word.length() > maxLength) return false;
+        for (int i = 0; i < word.length(); i++) {
+            if (!allows(i, word.charAt(i))) return false;
+        }
+        return true;
+    }
+
+    public int getMinLength() {
+        return minLength;
+    }
+
+    public int getMaxLength() {
+        return maxLength;
+    }
+
+    @Override
+    public String toString() {
+        return pattern + "{" + minLength + "," + maxLength + "}";
+    }
+}